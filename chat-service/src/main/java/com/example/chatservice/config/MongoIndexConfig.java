@@ -0,0 +1,40 @@
+package com.example.chatservice.config;
+
+import com.example.chatservice.entity.ChatMessageEntity;
+import com.example.chatservice.entity.ChatRoomEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+/**
+ * 엔티티에 선언한 인덱스(@CompoundIndex, @Indexed)를 기동 시 생성
+ * ㄴ spring.data.mongodb.auto-index-creation이 꺼져 있어 어노테이션만으로는 인덱스가 만들어지지 않는다.
+ * ㄴ ensureIndex는 이미 같은 인덱스가 있으면 아무것도 하지 않으므로 모든 Pod가 기동 시 호출해도 안전하다.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entityClass : new Class<?>[]{ChatMessageEntity.class, ChatRoomEntity.class}) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+            try {
+                resolver.resolveIndexFor(entityClass).forEach(indexOps::ensureIndex);
+            } catch (Exception e) {
+                // 인덱스가 없어도 조회는 동작하므로 기동은 계속 (느린 조회로 드러남)
+                log.error("[MongoIndex] 인덱스 생성 실패. Entity: {}", entityClass.getSimpleName(), e);
+            }
+        }
+    }
+}
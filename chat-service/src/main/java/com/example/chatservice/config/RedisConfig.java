@@ -1,6 +1,7 @@
 package com.example.chatservice.config;
 
 import com.example.chatservice.service.redis.RedisSubscriber;
+import com.example.commonmodule.redis.BatchLeaderLease;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -10,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
@@ -38,25 +39,20 @@ public class RedisConfig {
         return mapper;
     }
 
+    // 채널은 고정 등록하지 않고, 로컬 STOMP 구독 상태에 따라 ChatChannelSubscriptionManager가 동적으로 구독/해제
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
-                                                                       MessageListenerAdapter listenerAdapter, ChannelTopic channelTopic) {
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(listenerAdapter, channelTopic);
         return container;
     }
 
+    // sendMessage(String message, String channel) - 수신 채널에 따라 전달할 STOMP 주소를 결정
     @Bean
     public MessageListenerAdapter listenerAdapter(RedisSubscriber subscriber) {
         return new MessageListenerAdapter(subscriber, "sendMessage");
     }
 
-    @Bean
-    public ChannelTopic channelTopic() {
-        return new ChannelTopic("chatroom");
-    }
-
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -71,4 +67,10 @@ public class RedisConfig {
         template.setValueSerializer(serializer);
         return template;
     }
-}
\ No newline at end of file
+
+    // 배치 스케줄러 리더 임대 (리더 1대만 Write-Behind/동기화 작업 수행)
+    @Bean
+    public BatchLeaderLease batchLeaderLease(StringRedisTemplate stringRedisTemplate) {
+        return new BatchLeaderLease(stringRedisTemplate);
+    }
+}
@@ -39,15 +39,15 @@ public class ChatController {
         return ResponseEntity.ok(chatService.getMyChatRooms(authUser.getUserId(), pageable));
     }
 
-    @Operation(summary = "채팅방 메시지 내용 조회", description = "특정 채팅방의 메시지 내역을 조회합니다.")
+    @Operation(summary = "채팅방 메시지 내용 조회", description = "특정 채팅방의 메시지 내역을 최신순으로 조회합니다. 이전 메시지는 응답의 마지막 메시지 ID를 before로 전달하여 조회합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = Slice.class))),
             @ApiResponse(responseCode = "401", description = "인증 실패", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/rooms/{roomId}/messages")
     public ResponseEntity<Slice<ChatMessageResponse>> getMessages(@PathVariable String roomId,
-                                                                  @RequestParam(defaultValue = "0") int page) {
-        return ResponseEntity.ok(chatService.getChatMessages(roomId, page, 20));
+                                                                  @RequestParam(required = false) String before) {
+        return ResponseEntity.ok(chatService.getChatMessages(roomId, before, 20));
     }
 
     @Operation(summary = "전체 안 읽은 메시지 수 조회", description = "메인 페이지 뱃지용으로 사용자의 안 읽은 메시지 총 개수를 반환합니다.")
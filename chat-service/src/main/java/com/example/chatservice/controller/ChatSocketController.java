@@ -2,11 +2,13 @@ package com.example.chatservice.controller;
 
 import com.example.chatservice.dto.ChatMessageRequest;
 import com.example.chatservice.service.ChatService;
+import com.example.chatservice.service.redis.ChatSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
@@ -19,6 +21,7 @@ import java.security.Principal;
 public class ChatSocketController { // STOMP 메시지 핸들링
 
     private final ChatService chatService;
+    private final ChatSessionRegistry chatSessionRegistry;
 
     // 메시지 전송 엔드포인트: /app/chat/send
     @MessageMapping("/chat/send")
@@ -31,6 +34,10 @@ public class ChatSocketController { // STOMP 메시지 핸들링
     public void handleConnect(SessionConnectEvent event) {
         if (event.getUser() != null) {
             Long userId = Long.parseLong(event.getUser().getName());
+            String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+            if (sessionId != null) {
+                chatSessionRegistry.register(userId, sessionId); // 사용자 -> Pod 세션 등록 (대상 Pod 판별용)
+            }
             log.info("User Connected: {}", userId);
         }
     }
@@ -39,6 +46,7 @@ public class ChatSocketController { // STOMP 메시지 핸들링
     public void handleDisconnect(SessionDisconnectEvent event) {
         if (event.getUser() != null) {
             Long userId = Long.parseLong(event.getUser().getName());
+            chatSessionRegistry.unregister(userId, event.getSessionId());
             log.info("User Disconnected: {}", userId);
         }
     }
@@ -3,19 +3,19 @@ package com.example.chatservice.entity;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Document(collection = "chat_message")
+@CompoundIndex(name = "idx_room_created_id", def = "{'roomId': 1, 'createdAt': -1, '_id': -1}") // 채팅방별 최신순 커서 조회 (정렬까지 인덱스로 처리)
 public class ChatMessageEntity {
 
     @Id
     private String id;
 
-    @Indexed
     private String roomId;
 
     private Long senderId;
@@ -24,7 +24,8 @@ public class ChatMessageEntity {
     private int readCount; // 메시지를 읽지 않은 사람의 수
 
     @Builder
-    public ChatMessageEntity(String roomId, Long senderId, String content, LocalDateTime createdAt) {
+    public ChatMessageEntity(String id, String roomId, Long senderId, String content, LocalDateTime createdAt) {
+        this.id = id; // 버퍼 저장 시에는 발행 전에 ID를 미리 발급 (null이면 저장 시 MongoDB가 생성)
         this.roomId = roomId;
         this.senderId = senderId;
         this.content = content;
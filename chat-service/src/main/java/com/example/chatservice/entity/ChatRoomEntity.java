@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -21,6 +22,8 @@ public class ChatRoomEntity {
     private String id;
 
     private Long user1Id;
+
+    @Indexed // user1Id는 (user1Id, user2Id) 유니크 인덱스로 조회 가능, user2Id 쪽 $or 조건용 (채팅방 목록 적재)
     private Long user2Id;
 
     private String lastMessage; // 채팅방 목록에서 보여지는 마지막 메시지 내용
@@ -53,29 +56,7 @@ public class ChatRoomEntity {
         this.unreadCounts.put(u2, 0);
     }
 
-    public void updateLastMessage(String message, LocalDateTime time) {
-        this.lastMessage = message;
-        this.lastMessageTime = time;
-    }
-
-    public void updateReadTime(Long userId, LocalDateTime time) {
-        if (this.lastReadAt == null) this.lastReadAt = new HashMap<>(); // 방어 로직
-        this.lastReadAt.put(String.valueOf(userId), time);
-    }
-
-    public void increaseUnreadCount(Long userId) {
-        if (this.unreadCounts == null) {
-            this.unreadCounts = new HashMap<>();
-        }
-        this.unreadCounts.merge(String.valueOf(userId), 1, Integer::sum);
-    }
-
-    public void resetUnreadCount(Long userId) {
-        if (this.unreadCounts == null) {
-            this.unreadCounts = new HashMap<>();
-        }
-        this.unreadCounts.put(String.valueOf(userId), 0);
-    }
+    // 메타데이터 갱신은 ChatRoomRepositoryCustom에서 필드 단위로 원자적으로 수행 (파이프라인 update / findAndModify)
 
     public int getUnreadCount(Long userId) {
         if (this.unreadCounts == null) {
@@ -0,0 +1,14 @@
+package com.example.chatservice.repository;
+
+import com.example.chatservice.entity.ChatMessageEntity;
+import org.springframework.data.domain.Slice;
+
+public interface ChatMessageRepositoryCustom {
+
+    /**
+     * 커서(Keyset) 기반 메시지 목록 조회 (최신순)
+     * ㄴ beforeMessageId가 null이면 가장 최신 메시지부터, 있으면 해당 메시지보다 이전 메시지만 조회
+     * ㄴ (roomId, createdAt, _id) 복합 인덱스를 그대로 따라가므로 몇 번째 페이지든 skip 없이 같은 비용
+     */
+    Slice<ChatMessageEntity> findByRoomIdBefore(String roomId, String beforeMessageId, int size);
+}
@@ -0,0 +1,66 @@
+package com.example.chatservice.repository;
+
+import com.example.chatservice.entity.ChatMessageEntity;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ChatMessageRepositoryImpl implements ChatMessageRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Slice<ChatMessageEntity> findByRoomIdBefore(String roomId, String beforeMessageId, int size) {
+        Criteria criteria = Criteria.where("roomId").is(roomId);
+
+        if (beforeMessageId != null) {
+            if (!ObjectId.isValid(beforeMessageId)) {
+                return new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, size), false);
+            }
+            ObjectId cursorId = new ObjectId(beforeMessageId);
+            LocalDateTime cursorTime = findCreatedAt(cursorId);
+
+            if (cursorTime != null) {
+                // (createdAt, _id) < (cursorTime, cursorId) - 같은 시각에 생성된 메시지는 _id로 순서를 구분
+                criteria = criteria.orOperator(
+                        Criteria.where("createdAt").lt(cursorTime),
+                        Criteria.where("createdAt").is(cursorTime).and("_id").lt(cursorId));
+            } else {
+                // 아직 버퍼에서 저장되지 않은 메시지 - ObjectId의 시각은 초 단위라 createdAt과 비교하면 같은 초의 메시지가 빠지거나 중복되므로
+                // 전송 시점에 발급한 _id 순서로만 비교
+                criteria = criteria.and("_id").lt(cursorId);
+            }
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .limit(size + 1); // 1건 더 조회하여 다음 페이지 존재 여부 판단
+
+        List<ChatMessageEntity> messages = mongoTemplate.find(query, ChatMessageEntity.class);
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages = messages.subList(0, size);
+        }
+        return new SliceImpl<>(messages, PageRequest.of(0, size), hasNext);
+    }
+
+    // 커서 메시지의 생성 시각 (아직 버퍼에서 저장되지 않은 메시지면 null)
+    private LocalDateTime findCreatedAt(ObjectId cursorId) {
+        Query query = new Query(Criteria.where("_id").is(cursorId));
+        query.fields().include("createdAt");
+
+        ChatMessageEntity cursor = mongoTemplate.findOne(query, ChatMessageEntity.class);
+        return cursor != null ? cursor.getCreatedAt() : null;
+    }
+}
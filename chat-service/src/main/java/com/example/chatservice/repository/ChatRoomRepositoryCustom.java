@@ -0,0 +1,27 @@
+package com.example.chatservice.repository;
+
+import com.example.chatservice.entity.ChatRoomEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChatRoomRepositoryCustom {
+
+    /**
+     * 사용자가 참여한 전체 채팅방의 ID와 마지막 메시지 시각만 조회 (ChatInboxService 적재용)
+     */
+    List<ChatRoomEntity> findInboxEntries(Long userId);
+
+    /**
+     * 메시지 전송 시 채팅방 메타데이터 갱신 (문서 전체를 덮어쓰지 않고 해당 필드만 원자적으로 갱신)
+     * ㄴ 마지막 메시지(더 늦은 메시지일 때만), 보낸 사람의 읽은 시간, 받는 사람 안 읽은 개수 +1, 보낸 사람 안 읽은 개수 0
+     */
+    void updateOnMessage(String roomId, Long senderId, Long receiverId, String content, LocalDateTime sentAt);
+
+    /**
+     * 읽음 처리 (내 안 읽은 개수 0, 읽은 시간 갱신)
+     * ㄴ 안 읽은 개수가 이미 0이면 갱신하지 않고 참여자 ID만 조회 (getUnreadCount는 0)
+     * @return 갱신 이전의 채팅방 (참여자 ID, unreadCounts만 조회), 채팅방이 없으면 null
+     */
+    ChatRoomEntity markAsRead(String roomId, Long userId, LocalDateTime readAt);
+}
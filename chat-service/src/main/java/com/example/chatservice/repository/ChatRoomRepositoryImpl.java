@@ -0,0 +1,93 @@
+package com.example.chatservice.repository;
+
+import com.example.chatservice.entity.ChatRoomEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ChatRoomRepositoryImpl implements ChatRoomRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ChatRoomEntity> findInboxEntries(Long userId) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("user1Id").is(userId),
+                Criteria.where("user2Id").is(userId)));
+        query.fields().include("lastMessageTime");
+
+        return mongoTemplate.find(query, ChatRoomEntity.class);
+    }
+
+    @Override
+    public void updateOnMessage(String roomId, Long senderId, Long receiverId, String content, LocalDateTime sentAt) {
+        // 두 사용자가 동시에 보내도 서로의 변경을 덮어쓰지 않도록 갱신 전 값을 기준으로 계산 (파이프라인 updateOne 1회)
+        // ㄴ lastMessage는 lastMessageTime보다 늦은(같은) 메시지일 때만 교체 -> 늦게 도착한 이전 메시지가 마지막 메시지를 되돌리지 않음
+        // ㄴ set()마다 $set 단계가 순서대로 실행되므로 lastMessage를 lastMessageTime보다 먼저 갱신해야 함 (갱신 전 시각과 비교)
+        // ㄴ 파이프라인 값은 Spring 변환을 거치지 않으므로 저장 시와 같은 시간대의 Date로 직접 변환
+        Date sentDate = Date.from(sentAt.atZone(ZoneId.systemDefault()).toInstant());
+        String senderReadAt = "lastReadAt." + senderId;
+        String receiverUnread = "unreadCounts." + receiverId;
+
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("lastMessage").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("lastMessageTime").lessThanEqualToValue(sentDate))
+                        .then(LiteralOperators.valueOf(content).asLiteral()) // "$"로 시작하는 내용이 필드 참조로 해석되지 않도록
+                        .otherwiseValueOf("lastMessage"))
+                .set("lastMessageTime").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("lastMessageTime").lessThanEqualToValue(sentDate))
+                        .then(sentDate)
+                        .otherwiseValueOf("lastMessageTime"))
+                .set(senderReadAt).toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf(senderReadAt).lessThanEqualToValue(sentDate))
+                        .then(sentDate)
+                        .otherwiseValueOf(senderReadAt))
+                .set(receiverUnread).toValue(ArithmeticOperators
+                        .valueOf(ConditionalOperators.ifNull(receiverUnread).then(0))
+                        .add(1))
+                .set("unreadCounts." + senderId).toValue(0);
+
+        mongoTemplate.updateFirst(byId(roomId), update, ChatRoomEntity.class);
+    }
+
+    @Override
+    public ChatRoomEntity markAsRead(String roomId, Long userId, LocalDateTime readAt) {
+        // 안 읽은 메시지가 있을 때만 갱신 (채팅방에 들어와 있는 동안 오는 읽음 요청마다 쓰기가 발생하지 않도록)
+        // ㄴ 안 읽은 개수가 0이면 이후 새 메시지가 없었으므로 읽은 시간을 갱신하지 않아도 읽음 표시 결과가 같음
+        Query query = new Query(Criteria.where("_id").is(roomId).and("unreadCounts." + userId).gt(0));
+        query.fields().include("user1Id", "user2Id", "unreadCounts");
+
+        Update update = new Update()
+                .set("unreadCounts." + userId, 0)
+                .max("lastReadAt." + userId, readAt);
+
+        // 갱신 이전 값을 반환받아 Redis 전체 안 읽은 개수를 차감할 양을 계산 (findAndModify 1회)
+        ChatRoomEntity previous = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), ChatRoomEntity.class);
+        if (previous != null) {
+            return previous;
+        }
+
+        // 갱신 대상이 아니면 참여자 ID만 조회 (unreadCounts를 조회하지 않으므로 차감할 개수는 0)
+        Query participants = byId(roomId);
+        participants.fields().include("user1Id", "user2Id");
+        return mongoTemplate.findOne(participants, ChatRoomEntity.class);
+    }
+
+    private Query byId(String roomId) {
+        return new Query(Criteria.where("_id").is(roomId));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.chatservice.scheduler;
+
+import com.example.chatservice.service.ChatMessageBufferService;
+import com.example.chatservice.service.redis.ChatSessionRegistry;
+import com.example.commonmodule.redis.BatchLeaderLease;
+import com.example.commonmodule.redis.BatchLeaderLease.Lease;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatBatchScheduler {
+
+    private final ChatMessageBufferService chatMessageBufferService;
+    private final ChatSessionRegistry chatSessionRegistry;
+    private final BatchLeaderLease leaderLease;
+    private final MeterRegistry meterRegistry;
+
+    // Lease (리더가 죽으면 TTL 만료 후 다음 실행에서 다른 Pod가 인계)
+    private static final String MESSAGE_WRITER_LEASE_NAME = "chat-message-writer";
+    private static final Duration MESSAGE_WRITER_LEASE_TTL = Duration.ofSeconds(30);
+
+    // Write-Behind 모드의 채팅 메시지를 MongoDB에 저장 (Stream 소비, 리더 1대만 실행)
+    // ㄴ 메시지 목록 조회에 늦게 보이는 시간을 줄이기 위해 짧은 주기로 실행
+    @Scheduled(fixedDelay = 200, initialDelay = 10000)
+    public void flushMessageBuffer() {
+        if (!chatMessageBufferService.isEnabled() || acquireLease(MESSAGE_WRITER_LEASE_NAME, MESSAGE_WRITER_LEASE_TTL) == null) {
+            return;
+        }
+        try {
+            int saved = chatMessageBufferService.flush();
+            if (saved > 0) {
+                meterRegistry.counter("batch.flush.rows", "job", MESSAGE_WRITER_LEASE_NAME, "column", "CHAT_MESSAGE").increment(saved);
+                log.debug("Saved {} buffered chat messages.", saved);
+            }
+        } catch (Exception e) {
+            meterRegistry.counter("batch.flush.failures", "job", MESSAGE_WRITER_LEASE_NAME, "column", "CHAT_MESSAGE").increment();
+            log.error("채팅 메시지 Write-Behind 저장 실패 (미처리 항목은 다음 실행에서 재처리)", e);
+        }
+    }
+
+    // 세션 레지스트리 하트비트 (리더와 무관하게 모든 Pod가 자기 세션을 연장)
+    @Scheduled(fixedRate = 30000)
+    public void refreshSessionRegistry() {
+        try {
+            chatSessionRegistry.heartbeat();
+        } catch (Exception e) {
+            log.error("세션 레지스트리 하트비트 실패", e);
+        }
+    }
+
+    private Lease acquireLease(String name, Duration ttl) {
+        Lease lease = null;
+        try {
+            lease = leaderLease.tryAcquire(name, ttl);
+        } catch (Exception e) {
+            log.error("리더 임대 획득 실패 - {}", name, e);
+        }
+        meterRegistry.counter("batch.run", "job", name, "result", lease != null ? "leader" : "skipped").increment();
+        return lease;
+    }
+}
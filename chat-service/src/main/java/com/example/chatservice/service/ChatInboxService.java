@@ -0,0 +1,183 @@
+package com.example.chatservice.service;
+
+import com.example.chatservice.entity.ChatRoomEntity;
+import com.example.chatservice.repository.ChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 사용자별 채팅방 목록(Inbox) 인덱스
+ * ㄴ 채팅방 목록을 MongoDB에서 $or + 정렬 + offset으로 조회하지 않고, 마지막 메시지 시각을 점수로 하는 ZSET에서 ID만 가져온다.
+ * ㄴ 메시지 전송 시 두 참여자의 ZSET 점수를 갱신하고, ZSET이 없으면(만료/최초) 다음 조회 시 MongoDB에서 한 번 적재한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "chat:inbox:{userId}" (ZSET - member: roomId, score: 마지막 메시지 시각(epoch ms))
+ * ㄴ    적재 완료 표시용 member "0"(score 0)을 함께 저장하여 채팅방이 없는 사용자도 매번 MongoDB를 조회하지 않도록 함
+ * ㄴ    메시지가 없는 채팅방은 채팅방 생성 시각(ObjectId)을 점수로 사용
+ * ㄴ 2) "chat:inbox:{userId}:ver" (STRING - 변경 버전, 메시지 전송마다 INCR. MongoDB 조회 이후 변경이 있었으면 그 스냅샷으로 ZSET을 채우지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatInboxService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String INBOX_KEY_PREFIX = "chat:inbox:";
+    private static final String LOADED_MARKER = "0";
+    private static final long INBOX_TTL_SECONDS = 86400; // 24시간 (만료 후 조회 시 MongoDB 기준으로 재적재)
+    private static final int LOAD_MAX_ATTEMPTS = 3;
+
+    // MongoDB에서 읽은 목록으로 ZSET 적재
+    // ㄴ KEYS[1]: inbox, KEYS[2]: 변경 버전 / ARGV[1]: TTL, ARGV[2]: MongoDB 조회 전에 읽은 버전, ARGV[3..]: score, member 쌍
+    // ㄴ 반환: 1(적재), 0(다른 요청이 먼저 채움), -1(조회 이후 메시지가 전송됨 - 옛 스냅샷이므로 버리고 호출 측에서 다시 조회)
+    // ㄴ unpack은 Lua 스택 한도(약 8000개)를 넘으면 실패하므로 1000개(500쌍)씩 나누어 ZADD
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[2] then return -1 end " +
+            "for i = 3, #ARGV, 1000 do " +
+            "  redis.call('ZADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    // 새 메시지 시각으로 점수 갱신 (적재되지 않은 ZSET은 다음 조회 시 MongoDB에서 적재되므로 생략, GT: 늦게 도착한 이전 시각으로 되돌리지 않음)
+    // ㄴ ZSET 유무와 관계없이 변경 버전을 올려, 이 메시지 저장 전에 MongoDB를 읽은 적재가 옛 스냅샷으로 ZSET을 채우지 못하게 함
+    // ㄴ KEYS: 참여자별 (inbox, 변경 버전) 쌍 / ARGV[1]: score, ARGV[2]: roomId, ARGV[3]: TTL
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS, 2 do " +
+            "  redis.call('INCR', KEYS[i + 1]) " +
+            "  redis.call('EXPIRE', KEYS[i + 1], ARGV[3]) " +
+            "  if redis.call('EXISTS', KEYS[i]) == 1 then " +
+            "    redis.call('ZADD', KEYS[i], 'GT', ARGV[1], ARGV[2]) " +
+            "    redis.call('EXPIRE', KEYS[i], ARGV[3]) " +
+            "  end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    /**
+     * 최근 메시지 순 채팅방 ID 조회
+     * @param count 조회할 개수 (다음 페이지 존재 여부 판단이 필요하면 호출 측에서 +1)
+     */
+    public List<String> getRoomIds(Long userId, long offset, int count) {
+        String key = INBOX_KEY_PREFIX + userId;
+        List<ChatRoomEntity> snapshot = ensureLoaded(userId, key);
+        if (snapshot != null) {
+            return pageFromSnapshot(snapshot, offset, count);
+        }
+
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(key, offset, offset + count - 1);
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        List<String> roomIds = new ArrayList<>(members.size());
+        for (String member : members) {
+            if (!LOADED_MARKER.equals(member)) {
+                roomIds.add(member);
+            }
+        }
+        return roomIds;
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    public void touch(String roomId, LocalDateTime lastMessageTime, Long... userIds) {
+        List<String> keys = new ArrayList<>(userIds.length * 2);
+        for (Long userId : userIds) {
+            keys.add(INBOX_KEY_PREFIX + userId);
+            keys.add(versionKey(userId));
+        }
+        try {
+            redisTemplate.execute(TOUCH_SCRIPT, keys,
+                    String.valueOf(toEpochMillis(lastMessageTime)), roomId, String.valueOf(INBOX_TTL_SECONDS));
+        } catch (Exception e) {
+            // 실패 시 목록 순서가 잠시 어긋날 수 있으므로 삭제하여 다음 조회 시 MongoDB 기준으로 재적재
+            log.error("[ChatInbox] 갱신 실패. RoomId: {}", roomId, e);
+            redisTemplate.delete(keys);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private static String versionKey(Long userId) {
+        return INBOX_KEY_PREFIX + userId + ":ver";
+    }
+
+    /**
+     * ZSET이 없으면(최초 접근, TTL 만료) MongoDB의 채팅방 목록으로 채움 (조회 이후 메시지가 전송되었으면 다시 조회, 최대 LOAD_MAX_ATTEMPTS회)
+     * @return ZSET을 사용할 수 있으면 null, 마지막 시도까지 변경이 반복되면 마지막으로 읽은 MongoDB 목록 (ZSET은 채우지 않고 이번 조회에만 사용)
+     */
+    private List<ChatRoomEntity> ensureLoaded(Long userId, String key) {
+        List<ChatRoomEntity> rooms = null;
+        for (int attempt = 0; attempt < LOAD_MAX_ATTEMPTS; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                return null;
+            }
+
+            // 변경 버전은 MongoDB 조회 전에 읽어야 함 (조회 도중 저장된 메시지를 감지)
+            String version = redisTemplate.opsForValue().get(versionKey(userId));
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(INBOX_TTL_SECONDS));
+            args.add(version != null ? version : "0");
+            args.add("0");
+            args.add(LOADED_MARKER);
+            rooms = chatRoomRepository.findInboxEntries(userId);
+            for (ChatRoomEntity room : rooms) {
+                args.add(String.valueOf(score(room)));
+                args.add(room.getId());
+            }
+
+            Long result = redisTemplate.execute(LOAD_SCRIPT, Arrays.asList(key, versionKey(userId)), args.toArray());
+            if (result == null || result >= 0) {
+                return null;
+            }
+            log.debug("[ChatInbox] 적재 중 변경 감지, 다시 조회. UserId: {}", userId);
+        }
+        // 메시지가 계속 오가는 사용자는 적재를 다음 조회로 미루고, 이번 요청은 방금 읽은 목록으로 응답 (요청 실패 X)
+        log.info("[ChatInbox] 적재 중 변경 반복, MongoDB 목록으로 응답. UserId: {}", userId);
+        return rooms;
+    }
+
+    // ZSET과 같은 순서(점수 내림차순, 같으면 ID 내림차순)로 정렬 후 페이지 추출
+    private List<String> pageFromSnapshot(List<ChatRoomEntity> rooms, long offset, int count) {
+        return rooms.stream()
+                .sorted(Comparator.comparingLong(this::score).thenComparing(ChatRoomEntity::getId).reversed())
+                .skip(offset)
+                .limit(count)
+                .map(ChatRoomEntity::getId)
+                .toList();
+    }
+
+    // 마지막 메시지 시각, 없으면 채팅방 생성 시각 (목록에서 빠지지 않도록)
+    private long score(ChatRoomEntity room) {
+        if (room.getLastMessageTime() != null) {
+            return toEpochMillis(room.getLastMessageTime());
+        }
+        return ObjectId.isValid(room.getId()) ? new ObjectId(room.getId()).getDate().getTime() : 0;
+    }
+
+    // LocalDateTime은 MongoDB 저장 시와 같은 시스템 기본 시간대로 변환
+    private long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.chatservice.service;
+
+import com.example.chatservice.entity.ChatMessageEntity;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 채팅 메시지 Write-Behind 버퍼 (app.write-behind.enabled=true 일 때 사용)
+ * ㄴ 전송 시 MongoDB에 바로 저장하지 않고 Redis Stream에 기록(XADD)만 한 뒤 즉시 Pub/Sub으로 발행한다.
+ * ㄴ XADD가 성공해야 전송 성공으로 간주하므로, Pod가 죽어도 Stream에 남은 메시지는 다른 Pod가 이어서 저장한다.
+ * ㄴ 스케줄러(리더 1대)가 Stream을 묶음으로 읽어 Unordered Bulk Insert 한 번으로 저장한다. (메시지당 insert 1회 -> 묶음당 1회)
+ *
+ * [Key 규칙]
+ * ㄴ 1) "chat:messages:stream" (STREAM - i: messageId, r: roomId, s: senderId, c: content, t: createdAt)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageBufferService {
+
+    private final StringRedisTemplate redisTemplate;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.write-behind.enabled:false}")
+    private boolean enabled;
+
+    private volatile boolean groupCreated = false;
+
+    private static final String STREAM_KEY = "chat:messages:stream";
+    private static final String CONSUMER_GROUP = "chat-message-writer";
+    private static final String CONSUMER_NAME = "leader"; // 리더 1대만 소비하므로 이름 고정 (리더가 바뀌어도 미처리(PEL) 항목을 이어받음)
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+    private static final int READ_COUNT = 1000;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * 메시지를 버퍼(Stream)에 기록
+     * ㄴ 메시지 ID는 호출 측에서 미리 발급해야 함 (재처리 시 같은 ID로 저장되어 중복 저장되지 않음)
+     */
+    public void enqueue(ChatMessageEntity message) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("i", message.getId());
+        fields.put("r", message.getRoomId());
+        fields.put("s", String.valueOf(message.getSenderId()));
+        fields.put("c", message.getContent() != null ? message.getContent() : "");
+        fields.put("t", message.getCreatedAt().toString());
+
+        RecordId recordId = redisTemplate.opsForStream().add(StreamRecords.newRecord().in(STREAM_KEY).ofMap(fields));
+        if (recordId == null) {
+            throw new IllegalStateException("채팅 메시지 버퍼 기록 실패. MessageId: " + message.getId());
+        }
+    }
+
+    /**
+     * Stream에 쌓인 메시지를 MongoDB에 저장 (스케줄러에서 리더 1대만 호출)
+     * ㄴ 이전 실행에서 Ack하지 못한 항목(PEL)부터 처리한 뒤 새 항목을 읽음
+     * @return 저장한 메시지 수
+     */
+    public int flush() {
+        ensureGroup();
+
+        int saved = 0;
+        boolean pending = true; // 미처리 항목(PEL)부터
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<MapRecord<String, Object, Object>> records;
+            try {
+                records = redisTemplate.opsForStream().read(
+                        Consumer.from(CONSUMER_GROUP, CONSUMER_NAME),
+                        StreamReadOptions.empty().count(READ_COUNT),
+                        StreamOffset.create(STREAM_KEY, pending ? ReadOffset.from("0") : ReadOffset.lastConsumed()));
+            } catch (Exception e) {
+                groupCreated = false; // Redis 초기화 등으로 그룹이 사라졌을 수 있으므로 다음 실행에서 다시 생성
+                throw e;
+            }
+
+            if (records == null || records.isEmpty()) {
+                if (!pending) break;
+                pending = false; // 미처리 항목을 모두 처리했으면 새 항목으로
+                continue;
+            }
+
+            saved += applyRecords(records);
+        }
+        return saved;
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    // 묶음 단위 Unordered Bulk Insert 후 Ack (일부 실패해도 나머지는 저장됨)
+    private int applyRecords(List<MapRecord<String, Object, Object>> records) {
+        List<ChatMessageEntity> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                Map<Object, Object> value = record.getValue();
+                messages.add(ChatMessageEntity.builder()
+                        .id(value.get("i").toString())
+                        .roomId(value.get("r").toString())
+                        .senderId(Long.parseLong(value.get("s").toString()))
+                        .content(value.get("c").toString())
+                        .createdAt(LocalDateTime.parse(value.get("t").toString()))
+                        .build());
+            } catch (Exception e) {
+                log.warn("[ChatMessageBuffer] 잘못된 Stream 항목 건너뜀. Id: {}", record.getId(), e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessageEntity.class)
+                        .insert(messages)
+                        .execute();
+            } catch (BulkOperationException e) {
+                // 이전 실행에서 저장 후 Ack 전에 실패한 항목은 같은 ID로 다시 들어오므로 중복 키 오류만 있으면 성공으로 간주
+                boolean onlyDuplicates = e.getErrors().stream()
+                        .map(BulkWriteError::getCode)
+                        .allMatch(code -> code == DUPLICATE_KEY_ERROR_CODE);
+                if (!onlyDuplicates) {
+                    throw e; // Ack하지 않으므로 PEL에 남아 다음 실행에서 재처리
+                }
+                log.debug("[ChatMessageBuffer] 이미 저장된 메시지 {}건 건너뜀", e.getErrors().size());
+            }
+        }
+
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, ids);
+        redisTemplate.opsForStream().delete(STREAM_KEY, ids);
+        return messages.size();
+    }
+
+    private void ensureGroup() {
+        if (groupCreated) {
+            return;
+        }
+        try {
+            redisTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0"), CONSUMER_GROUP);
+        } catch (Exception e) {
+            log.debug("[ChatMessageBuffer] Consumer Group 생성 생략 (이미 존재): {}", e.getMessage());
+        }
+        groupCreated = true;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.chatservice.service;
+
+import com.example.chatservice.dto.ChatMessageResponse;
+import com.example.chatservice.entity.ChatMessageEntity;
+import com.example.chatservice.repository.ChatMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 채팅방별 최근 메시지 버퍼 (Redis LIST, 최신 메시지가 앞)
+ * ㄴ 채팅방을 열 때 읽는 첫 페이지는 MongoDB 대신 이 버퍼에서 응답하고, 이전 메시지(before 커서)만 MongoDB로 조회한다.
+ * ㄴ 메시지 전송 시 LPUSH + LTRIM으로 최근 CAPACITY개만 유지한다. (Write-Behind로 아직 저장되지 않은 메시지도 바로 조회됨)
+ * ㄴ 버퍼가 없으면 다음 조회 시 MongoDB의 최근 메시지로 적재하고, 방의 전체 메시지가 CAPACITY개 미만이면 끝 표시(END)를 붙인다.
+ * ㄴ 버퍼가 없을 때 전송된 메시지는 버퍼를 만들지 않고 적재 보류 표시만 남긴다. (END 없는 메시지 1건짜리 버퍼가 생기지 않도록)
+ *    보류 중에는 MongoDB에 아직 저장되지 않았을 수 있는 메시지가 빠진 채로 적재되지 않도록 적재를 생략하고 MongoDB로 조회한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "chat:recent:{roomId}" (LIST - ChatMessageResponse JSON, 마지막 원소가 "END"면 방의 첫 메시지까지 모두 포함)
+ * ㄴ 2) "chat:recent:{roomId}:pending" (STRING - 적재 보류 표시, 버퍼가 없을 때 전송된 메시지가 저장될 때까지 유지)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatRecentMessageService {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String RECENT_KEY_PREFIX = "chat:recent:";
+    private static final String END_MARKER = "END";
+    private static final int CAPACITY = 50;
+    private static final long RECENT_TTL_SECONDS = 259200; // 3일 (대화가 없는 방은 만료 후 다음 조회 시 재적재)
+    private static final long PENDING_TTL_SECONDS = 30; // Write-Behind 저장 주기(200ms)와 리더 교체 시간을 넉넉히 포함
+
+    // 새 메시지 추가 (버퍼가 있을 때만 - 없으면 적재 보류 표시만 남기고 다음 조회 시 MongoDB에서 적재)
+    // ㄴ KEYS[1]: 버퍼, KEYS[2]: 적재 보류 표시 / ARGV[1]: 메시지 JSON, ARGV[2]: CAPACITY, ARGV[3]: TTL, ARGV[4]: 보류 TTL
+    private static final RedisScript<Long> PUSH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  redis.call('SET', KEYS[2], '1', 'EX', ARGV[4]) " +
+            "  return 0 " +
+            "end " +
+            "redis.call('LPUSH', KEYS[1], ARGV[1]) " +
+            "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // MongoDB에서 읽은 최근 메시지로 적재
+    // ㄴ KEYS[1]: 버퍼, KEYS[2]: 적재 보류 표시 / ARGV[1]: TTL, ARGV[2..]: 최신순 메시지 JSON (+ END)
+    // ㄴ 반환: 1(적재), 0(다른 요청이 먼저 채움), -1(적재 보류 중 - 호출 측에서 MongoDB로 조회)
+    // ㄴ unpack은 Lua 스택 한도(약 8000개)를 넘으면 실패하므로 1000개씩 나누어 RPUSH (순서 유지)
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return -1 end " +
+            "for i = 2, #ARGV, 1000 do " +
+            "  redis.call('RPUSH', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    /**
+     * 최신 메시지 첫 페이지 조회
+     * @return 버퍼로 응답할 수 없으면 null (호출 측에서 MongoDB 조회)
+     */
+    public Slice<ChatMessageResponse> getLatest(String roomId, int size) {
+        if (size >= CAPACITY) {
+            return null;
+        }
+        String key = RECENT_KEY_PREFIX + roomId;
+        try {
+            if (!ensureLoaded(roomId, key)) {
+                return null;
+            }
+
+            List<String> values = redisTemplate.opsForList().range(key, 0, size); // 1건 더 조회하여 다음 페이지 존재 여부 판단
+            if (values == null) {
+                return null;
+            }
+
+            List<ChatMessageResponse> messages = new ArrayList<>(size);
+            Set<String> seenIds = new HashSet<>();
+            boolean reachedEnd = false;
+            for (String value : values) {
+                if (END_MARKER.equals(value)) {
+                    reachedEnd = true;
+                    break;
+                }
+                ChatMessageResponse message = objectMapper.readValue(value, ChatMessageResponse.class);
+                if (seenIds.add(message.getId())) { // 적재와 전송이 겹쳐 같은 메시지가 두 번 들어간 경우 제외
+                    messages.add(message);
+                }
+            }
+
+            boolean hasNext = messages.size() > size;
+            if (!hasNext && !reachedEnd) {
+                return null; // 버퍼가 전송으로만 채워져 아직 한 페이지가 안 되는 경우
+            }
+            return new SliceImpl<>(hasNext ? messages.subList(0, size) : messages, PageRequest.of(0, size), hasNext);
+        } catch (Exception e) {
+            log.error("[ChatRecentMessage] 버퍼 조회 실패, MongoDB로 조회. RoomId: {}", roomId, e);
+            return null;
+        }
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    public void push(ChatMessageEntity message) {
+        String key = RECENT_KEY_PREFIX + message.getRoomId();
+        try {
+            redisTemplate.execute(PUSH_SCRIPT, Arrays.asList(key, pendingKey(message.getRoomId())),
+                    toJson(message), String.valueOf(CAPACITY), String.valueOf(RECENT_TTL_SECONDS), String.valueOf(PENDING_TTL_SECONDS));
+        } catch (Exception e) {
+            // 버퍼에 빠진 메시지가 생기지 않도록 삭제하여 다음 조회 시 재적재
+            log.error("[ChatRecentMessage] 버퍼 추가 실패. RoomId: {}", message.getRoomId(), e);
+            redisTemplate.delete(key);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private static String pendingKey(String roomId) {
+        return RECENT_KEY_PREFIX + roomId + ":pending";
+    }
+
+    /**
+     * 버퍼가 없으면 MongoDB의 최근 메시지로 적재
+     * @return 버퍼로 응답할 수 있으면 true (적재 보류 중이면 false)
+     */
+    private boolean ensureLoaded(String roomId, String key) throws JsonProcessingException {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return true;
+        }
+
+        Slice<ChatMessageEntity> latest = chatMessageRepository.findByRoomIdBefore(roomId, null, CAPACITY);
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(RECENT_TTL_SECONDS));
+        for (ChatMessageEntity message : latest.getContent()) {
+            args.add(toJson(message));
+        }
+        if (!latest.hasNext()) {
+            args.add(END_MARKER); // 방의 전체 메시지가 버퍼 안에 있음
+        }
+        Long result = redisTemplate.execute(LOAD_SCRIPT, Arrays.asList(key, pendingKey(roomId)), args.toArray());
+        return result == null || result >= 0;
+    }
+
+    private String toJson(ChatMessageEntity message) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(ChatMessageResponse.from(message));
+    }
+}
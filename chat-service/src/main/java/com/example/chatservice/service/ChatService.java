@@ -14,7 +14,7 @@ import com.example.chatservice.service.redis.RedisPublisher;
 import com.mongodb.DuplicateKeyException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
@@ -23,8 +23,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -37,6 +39,9 @@ public class ChatService {
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ChatUserProfileRepository chatUserProfileRepository;
+    private final ChatMessageBufferService chatMessageBufferService;
+    private final ChatInboxService chatInboxService;
+    private final ChatRecentMessageService chatRecentMessageService;
     private final RedisPublisher redisPublisher;
     private final RedisTemplate<String, Object> redisTemplate;
 
@@ -61,22 +66,26 @@ public class ChatService {
         ChatRoomEntity chatRoom = getOrCreateChatRoom(senderId, request.getReceiverId());
 
         // 1. [DB Insert] 메시지 저장
+        // ㄴ Write-Behind 모드: ID를 미리 발급하고 Stream에 기록만 한 뒤 발행 (MongoDB 저장은 스케줄러가 묶어서 처리)
         ChatMessageEntity message = ChatMessageEntity.builder()
+                .id(chatMessageBufferService.isEnabled() ? new ObjectId().toHexString() : null)
                 .roomId(chatRoom.getId())
                 .senderId(senderId)
                 .content(request.getContent())
                 .createdAt(LocalDateTime.now())
                 .build();
-        chatMessageRepository.save(message);
-
-        // 2. [DB Update] 채팅방 메타데이터 갱신
-        chatRoom.updateLastMessage(message.getContent(), message.getCreatedAt()); // 채팅방의 마지막 메시지 최신화
-        chatRoom.updateReadTime(senderId, message.getCreatedAt()); // 채팅방의 마지막 메시지 시간 최신화
-
-        chatRoom.increaseUnreadCount(request.getReceiverId()); // 상대방의 읽지 않은 메시지 수 + 1
-        chatRoom.resetUnreadCount(senderId); // 나는 0 (방어 로직)
+        if (chatMessageBufferService.isEnabled()) {
+            chatMessageBufferService.enqueue(message);
+        } else {
+            chatMessageRepository.save(message);
+        }
 
-        chatRoomRepository.save(chatRoom);
+        // 2. [DB Update] 채팅방 메타데이터 갱신 (마지막 메시지/시간, 상대방 안 읽은 수 + 1, 나는 0)
+        // ㄴ 문서 전체 save 대신 필드 단위 원자적 갱신 (동시 전송 시 Lost Update 방지)
+        chatRoomRepository.updateOnMessage(chatRoom.getId(), senderId, request.getReceiverId(),
+                message.getContent(), message.getCreatedAt());
+        chatInboxService.touch(chatRoom.getId(), message.getCreatedAt(), senderId, request.getReceiverId()); // 두 사람의 채팅방 목록 순서 갱신
+        chatRecentMessageService.push(message); // 채팅방 최근 메시지 버퍼 (첫 페이지 조회용)
 
         // 3. [Redis Update] 상대방 전체 안 읽은 개수 +1
         String redisKey = TOTAL_UNREAD_PREFIX + request.getReceiverId();
@@ -96,22 +105,20 @@ public class ChatService {
                 .readCount(1)
                 .build();
 
-        redisPublisher.publish(redisPublisher.getTopic(), response); // redisPublisher.publish(chatroom, response); <- chatroom이라는 토픽(채널)로 메시지 던짐
+        redisPublisher.publish(response, senderId, request.getReceiverId()); // chat:room:{roomId}, chat:user:{receiverId} 채널로 메시지 던짐 (둘 다 이 Pod에 있으면 바로 전달)
     }
 
     // 읽음 처리 로직
     private void markAsRead(Long userId, String roomId) {
-        ChatRoomEntity chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
+        // 1. [DB Update] 내 카운트 0으로 초기화 + 읽은 시간 갱신 (갱신 이전 카운트를 함께 반환받음)
+        ChatRoomEntity previous = chatRoomRepository.markAsRead(roomId, userId, LocalDateTime.now());
+        if (previous == null) {
+            throw new RuntimeException("Room not found");
+        }
 
-        int currentUnreadCount = chatRoom.getUnreadCount(userId);
+        int currentUnreadCount = previous.getUnreadCount(userId);
 
         if (currentUnreadCount > 0) {
-            // 1. [DB Update] 내 카운트 0으로 초기화
-            chatRoom.resetUnreadCount(userId);
-            chatRoom.updateReadTime(userId, LocalDateTime.now());
-            chatRoomRepository.save(chatRoom);
-
             // 2. [Redis Update] 전체 카운트 차감
             String redisKey = TOTAL_UNREAD_PREFIX + userId;
             redisTemplate.opsForValue().decrement(redisKey, currentUnreadCount);
@@ -124,7 +131,7 @@ public class ChatService {
                 .senderId(userId)
                 .build();
 
-        redisPublisher.publish(redisPublisher.getTopic(), response);
+        redisPublisher.publish(response, previous.getUser1Id(), previous.getUser2Id());
     }
 
     // 입력 중 신호 발송 메서드
@@ -135,7 +142,7 @@ public class ChatService {
                 .senderId(senderId)
                 .build();
 
-        redisPublisher.publish(redisPublisher.getTopic(), response);
+        redisPublisher.publish(response);
     }
 
     private ChatRoomEntity getOrCreateChatRoom(Long user1, Long user2) {
@@ -165,8 +172,20 @@ public class ChatService {
      * 내 채팅방 목록 조회
      */
     public Slice<ChatRoomResponse> getMyChatRooms(Long userId, Pageable pageable) {
-        Slice<ChatRoomEntity> roomSlice = chatRoomRepository.findByUserId(userId, pageable);
-        List<ChatRoomEntity> rooms = roomSlice.getContent();
+        // 1. Inbox ZSET에서 최근 메시지 순 채팅방 ID 조회 (1건 더 조회하여 다음 페이지 존재 여부 판단)
+        List<String> roomIds = chatInboxService.getRoomIds(userId, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = roomIds.size() > pageable.getPageSize();
+        if (hasNext) {
+            roomIds = roomIds.subList(0, pageable.getPageSize());
+        }
+
+        // 2. ID로 일괄 조회 후 ZSET 순서대로 정렬
+        Map<String, ChatRoomEntity> roomMap = new HashMap<>();
+        chatRoomRepository.findAllById(roomIds).forEach(room -> roomMap.put(room.getId(), room));
+        List<ChatRoomEntity> rooms = roomIds.stream()
+                .map(roomMap::get)
+                .filter(Objects::nonNull)
+                .toList();
 
         Set<Long> otherUserIds = rooms.stream()
                 .map(room -> room.getUser1Id().equals(userId) ? room.getUser2Id() : room.getUser1Id())
@@ -194,12 +213,22 @@ public class ChatService {
                     .build();
         }).collect(Collectors.toList());
 
-        return new SliceImpl<>(roomResponses, pageable, roomSlice.hasNext());
+        return new SliceImpl<>(roomResponses, pageable, hasNext);
     }
 
-    public Slice<ChatMessageResponse> getChatMessages(String roomId, int page, int size) {
-        PageRequest pageable = PageRequest.of(page, size);
-        return chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, pageable)
+    /**
+     * 채팅방 메시지 조회 (커서 기반, 최신순)
+     * ㄴ before가 없으면 최신 메시지부터, 있으면 해당 메시지 ID보다 이전 메시지 조회 (마지막 메시지 ID를 다음 요청의 before로 사용)
+     */
+    public Slice<ChatMessageResponse> getChatMessages(String roomId, String before, int size) {
+        // 첫 페이지는 최근 메시지 버퍼에서 응답 (버퍼로 응답할 수 없으면 MongoDB)
+        if (before == null) {
+            Slice<ChatMessageResponse> latest = chatRecentMessageService.getLatest(roomId, size);
+            if (latest != null) {
+                return latest;
+            }
+        }
+        return chatMessageRepository.findByRoomIdBefore(roomId, before, size)
                 .map(ChatMessageResponse::from);
     }
 
@@ -0,0 +1,107 @@
+package com.example.chatservice.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 STOMP 구독 상태에 따라 Redis 채널을 동적으로 구독/해제
+ * ㄴ 이 Pod에 /topic/chat/{roomId} 또는 /topic/user/{userId} 구독자가 한 명이라도 있을 때만 해당 Redis 채널을 구독한다.
+ * ㄴ 따라서 Pod가 받는 Pub/Sub 트래픽은 전체 메시지 양이 아니라 로컬 사용자들의 메시지 양에 비례한다.
+ *
+ * [참조 카운트]
+ * ㄴ 같은 채널을 여러 세션(또는 한 세션의 /read, /typing 구독)이 공유하므로 채널별 구독 수를 세고 0 -> 1일 때 SUBSCRIBE, 1 -> 0일 때 UNSUBSCRIBE
+ * ㄴ 세션별 (subscriptionId -> 채널)을 기억하여 UNSUBSCRIBE 프레임 없이 연결이 끊겨도 정리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatChannelSubscriptionManager {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MessageListenerAdapter listenerAdapter;
+
+    // sessionId -> (subscriptionId -> Redis 채널)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    // Redis 채널 -> 로컬 구독 수
+    private final Map<String, Integer> channelRefCounts = new HashMap<>();
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String channel = ChatChannels.fromDestination(accessor.getDestination());
+        if (channel == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String previous = sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), channel);
+        if (previous != null) {
+            release(previous); // 같은 subscriptionId 재사용 시 이전 구독 정리
+        }
+        acquire(channel);
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = accessor.getSessionId() != null ? sessionSubscriptions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String channel = subscriptions.remove(accessor.getSubscriptionId());
+        if (channel != null) {
+            release(channel);
+        }
+    }
+
+    // DisconnectEvent는 한 세션에 여러 번 발생할 수 있으므로 remove로 한 번만 정리
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private synchronized void acquire(String channel) {
+        int count = channelRefCounts.merge(channel, 1, Integer::sum);
+        if (count == 1) {
+            redisMessageListenerContainer.addMessageListener(listenerAdapter, new ChannelTopic(channel));
+            log.debug("Redis channel subscribed: {}", channel);
+        }
+    }
+
+    private synchronized void release(String channel) {
+        Integer count = channelRefCounts.get(channel);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            channelRefCounts.put(channel, count - 1);
+            return;
+        }
+        channelRefCounts.remove(channel);
+        redisMessageListenerContainer.removeMessageListener(listenerAdapter, new ChannelTopic(channel));
+        log.debug("Redis channel unsubscribed: {}", channel);
+    }
+}
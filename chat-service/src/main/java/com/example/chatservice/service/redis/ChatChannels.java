@@ -0,0 +1,57 @@
+package com.example.chatservice.service.redis;
+
+/**
+ * 서버(Pod) 간 Redis Pub/Sub 채널 이름 규칙
+ * ㄴ 전역 채널 하나를 모든 Pod가 구독하면 Pod마다 전체 트래픽을 받아 역직렬화해야 하므로,
+ *    채팅방/사용자 단위로 채널을 나누고 각 Pod는 로컬에 구독자가 있는 채널만 구독한다. (ChatChannelSubscriptionManager)
+ *
+ * [채널 규칙]
+ * ㄴ 1) "chat:room:{roomId}" : /topic/chat/{roomId}, /read, /typing 구독자용 (대화, 읽음, 입력중)
+ * ㄴ 2) "chat:user:{userId}" : /topic/user/{userId} 구독자용 (채팅방 밖 알림, 목록 갱신)
+ */
+public final class ChatChannels {
+
+    public static final String ROOM_CHANNEL_PREFIX = "chat:room:";
+    public static final String USER_CHANNEL_PREFIX = "chat:user:";
+
+    private static final String ROOM_DESTINATION_PREFIX = "/topic/chat/";
+    private static final String USER_DESTINATION_PREFIX = "/topic/user/";
+
+    private ChatChannels() {
+    }
+
+    public static String room(String roomId) {
+        return ROOM_CHANNEL_PREFIX + roomId;
+    }
+
+    public static String user(Long userId) {
+        return USER_CHANNEL_PREFIX + userId;
+    }
+
+    public static boolean isUserChannel(String channel) {
+        return channel != null && channel.startsWith(USER_CHANNEL_PREFIX);
+    }
+
+    /**
+     * STOMP 구독 주소 -> 메시지를 받아야 하는 Redis 채널
+     * ㄴ /topic/chat/{roomId}[/read|/typing] -> chat:room:{roomId}
+     * ㄴ /topic/user/{userId}                -> chat:user:{userId}
+     * @return 채팅 관련 주소가 아니면 null
+     */
+    public static String fromDestination(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        if (destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            String rest = destination.substring(ROOM_DESTINATION_PREFIX.length());
+            int slash = rest.indexOf('/');
+            String roomId = slash >= 0 ? rest.substring(0, slash) : rest;
+            return roomId.isEmpty() ? null : room(roomId);
+        }
+        if (destination.startsWith(USER_DESTINATION_PREFIX)) {
+            String userId = destination.substring(USER_DESTINATION_PREFIX.length());
+            return userId.isEmpty() || userId.contains("/") ? null : USER_CHANNEL_PREFIX + userId;
+        }
+        return null;
+    }
+}
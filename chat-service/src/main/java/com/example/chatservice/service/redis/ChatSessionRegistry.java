@@ -0,0 +1,168 @@
+package com.example.chatservice.service.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 -> Pod WebSocket 세션 레지스트리
+ * ㄴ 로컬 인덱스: 이 Pod에 연결된 사용자별 STOMP 세션 ID 목록
+ * ㄴ Redis: 사용자별로 세션을 보유한 Pod 목록 (Pod마다 만료 시각을 기록하고 하트비트로 연장, Pod가 죽으면 만료 시각이 지나 무시됨)
+ * ㄴ 메시지 발행 시 참여자 전원이 이 Pod에만 연결되어 있으면(또는 오프라인이면) Pub/Sub을 생략하고 로컬에서 바로 전달한다.
+ * ㄴ 세션 등록(Redis 기록)이 실패하면 다음 하트비트가 성공할 때까지 레지스트리를 신뢰하지 않고 항상 Pub/Sub으로 전달한다. (degraded)
+ *    (다른 Pod의 판단은 하트비트로 기록이 복구될 때까지 어긋날 수 있음)
+ *
+ * [Key 규칙]
+ * ㄴ 1) "chat:session:user:{userId}" (HASH - field: podId, value: 만료 시각(epoch ms))
+ */
+@Slf4j
+@Component
+public class ChatSessionRegistry {
+
+    private static final String SESSION_KEY_PREFIX = "chat:session:user:";
+    private static final long SESSION_TTL_MILLIS = 90_000; // 하트비트(30초) 3회 누락 시 만료
+
+    private final StringRedisTemplate redisTemplate;
+    private final String podId;
+
+    // userId -> 이 Pod의 STOMP 세션 ID 목록
+    private final Map<Long, Set<String>> localSessions = new ConcurrentHashMap<>();
+
+    // 등록 실패 횟수 / 하트비트로 복구된 시점까지의 실패 횟수 (두 값이 다르면 degraded)
+    // ㄴ 하트비트 도중 새로 실패한 등록은 그 하트비트로 복구된 것으로 보지 않도록 시작 시점의 값을 기록
+    private final AtomicLong registerFailures = new AtomicLong();
+    private final AtomicLong recoveredFailures = new AtomicLong();
+
+    public ChatSessionRegistry(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.podId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    public void register(Long userId, String sessionId) {
+        localSessions.compute(userId, (id, sessions) -> {
+            Set<String> result = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            result.add(sessionId);
+            return result;
+        });
+        try {
+            writeEntry(userId);
+        } catch (Exception e) {
+            registerFailures.incrementAndGet(); // 다음 하트비트에서 다시 기록될 때까지 로컬 전달 생략
+            log.error("[ChatSessionRegistry] 세션 등록 실패, 하트비트 복구 전까지 Pub/Sub으로 전달. UserId: {}", userId, e);
+        }
+    }
+
+    public void unregister(Long userId, String sessionId) {
+        // 마지막 세션이 끊긴 경우에만 Redis에서 제거 (DisconnectEvent는 한 세션에 여러 번 발생할 수 있음)
+        boolean[] lastSession = {false};
+        localSessions.computeIfPresent(userId, (id, sessions) -> {
+            if (sessions.remove(sessionId) && sessions.isEmpty()) {
+                lastSession[0] = true;
+                return null;
+            }
+            return sessions;
+        });
+        if (!lastSession[0]) {
+            return;
+        }
+        try {
+            redisTemplate.opsForHash().delete(SESSION_KEY_PREFIX + userId, podId);
+        } catch (Exception e) {
+            log.error("[ChatSessionRegistry] 세션 해제 실패. UserId: {}", userId, e); // 만료 시각이 지나면 무시됨
+        }
+    }
+
+    /**
+     * 로컬에 연결된 사용자 전원의 만료 시각 연장 (스케줄러에서 모든 Pod가 주기적으로 호출)
+     */
+    public void heartbeat() {
+        long failures = registerFailures.get();
+        if (localSessions.isEmpty()) {
+            recoveredFailures.accumulateAndGet(failures, Math::max);
+            return;
+        }
+        String expiresAt = String.valueOf(System.currentTimeMillis() + SESSION_TTL_MILLIS);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (Long userId : localSessions.keySet()) {
+                String key = SESSION_KEY_PREFIX + userId;
+                conn.hSet(key, podId, expiresAt);
+                conn.pExpire(key, SESSION_TTL_MILLIS);
+            }
+            return null;
+        });
+        recoveredFailures.accumulateAndGet(failures, Math::max); // 시작 시점까지 실패한 등록은 모두 다시 기록됨
+    }
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    /**
+     * 참여자 전원의 세션이 이 Pod에만 있는지 (오프라인 사용자는 전달 대상이 없으므로 로컬로 간주)
+     * ㄴ Redis 조회 실패 시, 또는 등록 실패 후 아직 복구되지 않은 경우(degraded) false를 반환하여 Pub/Sub으로 전달되도록 함
+     */
+    public boolean isLocalOnly(Collection<Long> userIds) {
+        if (isDegraded()) {
+            return false;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        try {
+            List<Object> entries = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (Long userId : ids) {
+                    conn.hGetAll(SESSION_KEY_PREFIX + userId);
+                }
+                return null;
+            });
+
+            long now = System.currentTimeMillis();
+            for (Object entry : entries) {
+                if (!(entry instanceof Map<?, ?> pods)) continue;
+                for (Map.Entry<?, ?> pod : pods.entrySet()) {
+                    if (!podId.equals(pod.getKey()) && Long.parseLong(pod.getValue().toString()) > now) {
+                        return false; // 다른 Pod에 살아있는 세션이 있음
+                    }
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("[ChatSessionRegistry] 세션 조회 실패, Pub/Sub으로 전달. UserIds: {}", ids, e);
+            return false;
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private boolean isDegraded() {
+        return registerFailures.get() != recoveredFailures.get();
+    }
+
+    private void writeEntry(Long userId) {
+        String key = SESSION_KEY_PREFIX + userId;
+        redisTemplate.opsForHash().put(key, podId, String.valueOf(System.currentTimeMillis() + SESSION_TTL_MILLIS));
+        redisTemplate.expire(key, Duration.ofMillis(SESSION_TTL_MILLIS));
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
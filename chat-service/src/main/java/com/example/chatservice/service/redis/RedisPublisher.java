@@ -1,24 +1,40 @@
 package com.example.chatservice.service.redis;
 
 import com.example.chatservice.dto.ChatMessageResponse;
-import lombok.Getter;
+import com.example.chatservice.dto.enumerate.MessageType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+
 @Service
 @RequiredArgsConstructor
 public class RedisPublisher {
     private final RedisTemplate<String, Object> redisTemplate;
-
-    @Getter
-    private final ChannelTopic topic; // topic: chatroom
+    private final ChatSessionRegistry chatSessionRegistry;
+    private final RedisSubscriber redisSubscriber;
 
     // 1. RedisPublisher는 Redis Server에게 "이 메시지 뿌려줘" 요청한다.
-    // 2. Redis Server는 chatroom 구독하고 있는 모든 서버(chat pods)에게 이벤트 전송
+    // 2. Redis Server는 해당 채널(chat:room:{roomId}, chat:user:{userId})을 구독하고 있는 서버(chat pods)에게만 이벤트 전송
     // 3. 각 서버(chat pods)들의 RedisMessageListenerContainer가 이 신호를 감지하고, 등록된 리스너인 RedisSubscriber의 sendMessage() 메서드를 실행
-    public void publish(ChannelTopic topic, ChatMessageResponse message) {
-        redisTemplate.convertAndSend(topic.getTopic(), message);
+    // ㄴ participantIds: 메시지를 받아야 하는 사용자들. 모두 이 Pod에만 연결되어 있으면(또는 오프라인이면) Pub/Sub 없이 바로 전달
+    public void publish(ChatMessageResponse message, Long... participantIds) {
+        if (participantIds.length > 0 && chatSessionRegistry.isLocalOnly(Arrays.asList(participantIds))) {
+            redisSubscriber.deliver(message, ChatChannels.room(message.getRoomId()));
+            if (isPersonal(message)) {
+                redisSubscriber.deliver(message, ChatChannels.user(message.getReceiverId()));
+            }
+            return;
+        }
+
+        redisTemplate.convertAndSend(ChatChannels.room(message.getRoomId()), message); // 채팅방 내부용 (대화, 읽음, 입력중)
+        if (isPersonal(message)) {
+            redisTemplate.convertAndSend(ChatChannels.user(message.getReceiverId()), message); // 받는 사람 개인용 (알림, 목록 갱신)
+        }
+    }
+
+    private boolean isPersonal(ChatMessageResponse message) {
+        return message.getType() == MessageType.TALK && message.getReceiverId() != null;
     }
-}
\ No newline at end of file
+}
@@ -31,26 +31,33 @@ public class RedisSubscriber {
      * - /topic/chat/{roomId}/typing : "상대방이 입력 중입니다..." 표시용
      *
      * [전체 흐름]
-     * 1. 유저가 메시지 전송 → 서버가 받아서 Redis chatroom 채널에 던짐. ("야! 이거 모든 서버가 다 받아봐!")
-     * 2. 다른 서버가 Redis chatroom 채널에서 메시지 수신. ("어? 물건 왔네?")
-     * 3. 내용을 까보니 1번 방 메시지임 → STOMP /topic/chat/1 주소로 쏨. ("1번 방 구독하고 있는 손님들한테 배달해!")
-     * -> RedisConfig의 chatroom은 서버끼리의 통신 채널명이고, Subscriber의 /topic/chat은 클라이언트에게 쏘는 최종 주소
+     * 1. 유저가 메시지 전송 → 서버가 받아서 Redis chat:room:1 (+ 받는 사람 chat:user:{id}) 채널에 던짐.
+     * 2. 해당 채널을 구독 중인 서버(= 1번 방이나 받는 사람의 구독자가 로컬에 있는 서버)만 메시지 수신. ("어? 물건 왔네?")
+     * 3. 1번 방 채널로 받았으면 → STOMP /topic/chat/1 주소로 쏨. ("1번 방 구독하고 있는 손님들한테 배달해!")
+     * -> chat:room, chat:user는 서버끼리의 통신 채널명(ChatChannels)이고, Subscriber의 /topic/chat은 클라이언트에게 쏘는 최종 주소
      */
-    public void sendMessage(String publishMessage) {
+    public void sendMessage(String publishMessage, String channel) {
         try {
             ChatMessageResponse message = objectMapper.readValue(publishMessage, ChatMessageResponse.class);
-
-            if (message.getType() == MessageType.READ) {
-                messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId() + "/read", message); // 읽음 표시
-            } else if (message.getType() == MessageType.TYPING) {
-                messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId() + "/typing", message); // 입력중
-            } else {
-                messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId(), message);     // [1] 채팅방 내부용 (실시간 대화)
-                messagingTemplate.convertAndSend("/topic/user/" + message.getReceiverId(), message); // [2] 채팅방 외부/개인용 (알림, 안 읽은 개수, 채팅 목록 실시간 갱신)
-            }
-
+            deliver(message, channel);
         } catch (Exception e) {
             log.error("Exception in RedisSubscriber", e);
         }
     }
+
+    /**
+     * 채널 종류에 맞는 STOMP 주소로 전달
+     * ㄴ 참여자가 모두 이 Pod에 있으면 RedisPublisher가 Pub/Sub 없이 직접 호출
+     */
+    public void deliver(ChatMessageResponse message, String channel) {
+        if (ChatChannels.isUserChannel(channel)) {
+            messagingTemplate.convertAndSend("/topic/user/" + message.getReceiverId(), message); // 채팅방 외부/개인용 (알림, 안 읽은 개수, 채팅 목록 실시간 갱신)
+        } else if (message.getType() == MessageType.READ) {
+            messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId() + "/read", message); // 읽음 표시
+        } else if (message.getType() == MessageType.TYPING) {
+            messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId() + "/typing", message); // 입력중
+        } else {
+            messagingTemplate.convertAndSend("/topic/chat/" + message.getRoomId(), message); // 채팅방 내부용 (실시간 대화)
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.chatservice.service.redis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatChannelsTest {
+
+    @Test
+    void 채팅방_주소는_채팅방_채널로() {
+        assertThat(ChatChannels.fromDestination("/topic/chat/room1")).isEqualTo("chat:room:room1");
+        assertThat(ChatChannels.fromDestination("/topic/chat/room1/read")).isEqualTo("chat:room:room1");
+        assertThat(ChatChannels.fromDestination("/topic/chat/room1/typing")).isEqualTo("chat:room:room1");
+    }
+
+    @Test
+    void 사용자_주소는_사용자_채널로() {
+        assertThat(ChatChannels.fromDestination("/topic/user/42")).isEqualTo("chat:user:42");
+        assertThat(ChatChannels.isUserChannel(ChatChannels.fromDestination("/topic/user/42"))).isTrue();
+    }
+
+    @Test
+    void 채팅_관련_주소가_아니면_null() {
+        assertThat(ChatChannels.fromDestination(null)).isNull();
+        assertThat(ChatChannels.fromDestination("/topic/notice")).isNull();
+        assertThat(ChatChannels.fromDestination("/topic/chat/")).isNull();
+        assertThat(ChatChannels.fromDestination("/topic/user/")).isNull();
+        assertThat(ChatChannels.fromDestination("/topic/user/42/extra")).isNull();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.commonmodule.redis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 배치 스케줄러 리더 임대(Lease)
+ * ㄴ @Scheduled는 모든 Pod에서 실행되므로, Redis 키 하나를 임대한 Pod만 실제 작업을 수행한다.
+ * ㄴ 리더는 매 실행마다 임대를 연장하고, 리더 Pod가 죽으면 TTL 만료 후 다른 Pod가 다음 실행에서 임대를 가져간다.
+ * ㄴ 새로 임대할 때마다 단조 증가하는 펜싱 토큰을 발급하여 임대 값에 포함한다. (같은 Pod가 임대를 잃었다가 다시 얻어도 값이 달라짐)
+ * ㄴ 임대를 잃은 이전 리더의 처리를 막으려면, Redis 데이터를 옮기는 Lua 스크립트에 Lease의 key/value를 넘겨 같은 스크립트 안에서 비교해야 한다.
+ *    (DB 쓰기 자체는 토큰으로 막지 않으므로, 스크립트로 가져간 데이터만 반영하는 구조여야 이전 리더의 중복 반영을 막을 수 있음)
+ * ㄴ 서비스마다 Redis 설정에서 Bean으로 등록하여 사용 (common-module을 쓰는 모든 서비스가 스케줄러를 갖지는 않으므로 @Component로 두지 않음)
+ *
+ * [Key 규칙]
+ * ㄴ 1) "batch:lease:{name}"       value: {ownerId}:{fencingToken} (PX TTL)
+ * ㄴ 2) "batch:lease:{name}:fence" 펜싱 토큰 발급용 카운터
+ */
+@Slf4j
+public class BatchLeaderLease {
+
+    private static final String LEASE_KEY_PREFIX = "batch:lease:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String ownerId;
+
+    // 임대 획득 또는 연장 (KEYS[1]: lease, KEYS[2]: fence / ARGV[1]: ownerId, ARGV[2]: TTL(ms))
+    // ㄴ 반환: 보유 중인 임대 값, 다른 Pod가 보유 중이면 nil
+    private static final RedisScript<String> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local cur = redis.call('GET', KEYS[1]) " +
+            "if cur then " +
+            "  if string.sub(cur, 1, string.len(ARGV[1]) + 1) == ARGV[1] .. ':' then " +
+            "    redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "    return cur " +
+            "  end " +
+            "  return nil " +
+            "end " +
+            "local fence = redis.call('INCR', KEYS[2]) " +
+            "local value = ARGV[1] .. ':' .. fence " +
+            "redis.call('SET', KEYS[1], value, 'PX', ARGV[2]) " +
+            "return value",
+            String.class);
+
+    public BatchLeaderLease(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.ownerId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 임대 획득 시도 (이미 보유 중이면 TTL 연장)
+     * @return 리더이면 Lease, 아니면 null
+     */
+    public Lease tryAcquire(String name, Duration ttl) {
+        String leaseKey = LEASE_KEY_PREFIX + name;
+        String value = redisTemplate.execute(ACQUIRE_SCRIPT, Arrays.asList(leaseKey, leaseKey + ":fence"),
+                ownerId, String.valueOf(ttl.toMillis()));
+        if (value == null) {
+            return null;
+        }
+        long fencingToken = Long.parseLong(value.substring(value.lastIndexOf(':') + 1));
+        return new Lease(leaseKey, value, fencingToken);
+    }
+
+    /**
+     * 아직 같은 임대(같은 펜싱 토큰)를 보유 중인지 확인
+     * ㄴ 확인과 쓰기 사이에 임대가 넘어갈 수 있으므로 후속 단계 생략 여부 판단용으로만 사용
+     * ㄴ 원자적으로 확인해야 하는 경우 Lua 스크립트에 Lease의 key/value를 직접 넘겨 비교
+     */
+    public boolean isHeld(Lease lease) {
+        return lease.getValue().equals(redisTemplate.opsForValue().get(lease.getKey()));
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Lease {
+        private final String key;
+        private final String value;
+        private final long fencingToken;
+    }
+}
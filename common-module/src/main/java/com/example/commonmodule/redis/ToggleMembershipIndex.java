@@ -0,0 +1,245 @@
+package com.example.commonmodule.redis;
+
+import com.example.commonmodule.util.LongBloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 사용자별 토글 대상(북마크/관심 등) ID 집합 공통 처리 (L1: Bloom Filter, L2: Redis Set)
+ * ㄴ "이 대상을 눌렀는가"를 MySQL 없이 판단한다. (Set은 최초 조회 시 하위 클래스의 loadTargetIds로 DB에서 한 번 로드)
+ * ㄴ 대부분의 조회 결과는 "누르지 않음"이므로, Pod 메모리의 Bloom Filter가 아니라고 하면 Redis도 조회하지 않는다.
+ * ㄴ Bloom Filter는 Set 스냅샷으로 만들어지므로, 토글 시 Pub/Sub으로 모든 Pod의 해당 사용자 필터를 무효화한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "{keyPrefix}{userId}" (SET - 대상 ID 목록, 로드 완료 표시용 멤버 "0" 포함)
+ * ㄴ 2) "{keyPrefix}{userId}:ver" (STRING - 변경 버전, DB 반영된 토글마다 INCR. DB 조회 이후 변경이 있었으면 그 스냅샷으로 Set을 채우지 않음)
+ * ㄴ 3) "{keyPrefix}{userId}:pending" (STRING - Write-Behind 버퍼에 남은 미반영 토글 수. 토글 스크립트가 INCR, flush Ack 시 DECRBY)
+ *       ㄴ 0보다 크면 DB에 아직 없는 토글이 있으므로 Set을 로드하지 않고 flush를 기다림 (빠진 토글로 다음 토글 방향이 뒤집히지 않도록)
+ */
+@Slf4j
+public abstract class ToggleMembershipIndex {
+
+    public static final long SET_TTL_SECONDS = 24 * 60 * 60;
+
+    protected final StringRedisTemplate redisTemplate;
+
+    private final String keyPrefix;
+    private final String invalidationChannel;
+
+    private static final String LOADED_MARKER = "0";
+    private static final double BLOOM_FPP = 0.01;
+    private static final long BLOOM_TTL_SECONDS = 60;
+    private static final int LOAD_MAX_ATTEMPTS = 3;
+    private static final long PENDING_WAIT_MILLIS = 200; // flush 주기(1초) 안에서 미반영 토글 반영 대기
+
+    // Pub/Sub 메시지 유실 대비 안전장치로 TTL을 짧게 둠
+    private final Cache<Long, LongBloomFilter> bloomFilters = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfterWrite(Duration.ofSeconds(BLOOM_TTL_SECONDS))
+            .build();
+
+    // DB에서 읽은 목록으로 Set 초기화
+    // ㄴ KEYS[1]: 사용자 Set, KEYS[2]: 변경 버전, KEYS[3]: 미반영 토글 수 / ARGV[1]: Set TTL, ARGV[2]: DB 조회 전에 읽은 버전, ARGV[3..]: 멤버 (로드 완료 표시 포함)
+    // ㄴ 반환: 1(적재), 0(다른 요청이 먼저 채움), -1(DB 조회 이후 토글이 반영됨 - 옛 스냅샷이므로 버리고 호출 측에서 다시 조회),
+    //         -2(버퍼에 미반영 토글이 남음 - DB 스냅샷에 빠진 토글이 있으므로 flush 후 다시 조회)
+    // ㄴ unpack은 Lua 스택 한도(약 8000개)를 넘으면 실패하므로 1000개씩 나누어 SADD
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[2] then return -1 end " +
+            "if tonumber(redis.call('GET', KEYS[3]) or '0') > 0 then return -2 end " +
+            "for i = 3, #ARGV, 1000 do " +
+            "  redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    // DB 반영이 끝난 토글을 Set에 반영 (Set이 없으면 다음 조회 시 DB에서 로드되므로 생략)
+    // ㄴ Set 유무와 관계없이 변경 버전을 올려, 이 토글 커밋 전에 DB를 읽은 로드가 옛 스냅샷으로 Set을 채우지 못하게 함
+    // ㄴ KEYS[1]: 사용자 Set, KEYS[2]: 변경 버전 / ARGV[1]: 대상 ID, ARGV[2]: "1"(등록) / "0"(취소), ARGV[3]: Set TTL
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[3]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "if ARGV[2] == '1' then redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "else redis.call('SREM', KEYS[1], ARGV[1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // Bloom Filter 생성용 Set 조회
+    // ㄴ 필터가 살아있는 동안 Set이 먼저 만료되지 않도록 남은 TTL이 ARGV[1]보다 짧을 때만 연장 (조회할 때마다 TTL을 늘려 DB와 다시 맞추는 만료를 막지 않음)
+    private static final RedisScript<List> SNAPSHOT_SCRIPT = new DefaultRedisScript<>(
+            "local ttl = redis.call('TTL', KEYS[1]) " +
+            "if ttl >= 0 and ttl < tonumber(ARGV[1]) then redis.call('EXPIRE', KEYS[1], ARGV[1]) end " +
+            "return redis.call('SMEMBERS', KEYS[1])",
+            List.class);
+
+    protected ToggleMembershipIndex(StringRedisTemplate redisTemplate, String keyPrefix, String invalidationChannel) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    //=====================================//
+    //== 하위 클래스 구현 (DB 로드 방식) ==//
+    //=====================================//
+
+    /**
+     * 사용자가 누른 대상 ID 전체 조회 (Set 로드용)
+     */
+    protected abstract List<Long> loadTargetIds(Long userId);
+
+    public String setKey(Long userId) {
+        return keyPrefix + userId;
+    }
+
+    // Write-Behind 토글 스크립트/flush에서 함께 갱신
+    public String pendingKey(Long userId) {
+        return setKey(userId) + ":pending";
+    }
+
+    private String versionKey(Long userId) {
+        return setKey(userId) + ":ver";
+    }
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    public boolean contains(Long userId, Long targetId) {
+        if (!bloomFilter(userId).mightContain(targetId)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(setKey(userId), String.valueOf(targetId)));
+    }
+
+    // 목록 페이지의 대상 중 사용자가 누른 ID (Bloom Filter 통과분만 SMISMEMBER 1회)
+    public Set<Long> findContained(Long userId, Collection<Long> targetIds) {
+        LongBloomFilter filter = bloomFilter(userId);
+        Object[] candidates = targetIds.stream()
+                .filter(filter::mightContain)
+                .map(String::valueOf)
+                .toArray();
+
+        Set<Long> containedIds = new HashSet<>();
+        if (candidates.length == 0) {
+            return containedIds;
+        }
+
+        Map<Object, Boolean> result = redisTemplate.opsForSet().isMember(setKey(userId), candidates);
+        if (result != null) {
+            result.forEach((member, contained) -> {
+                if (Boolean.TRUE.equals(contained)) containedIds.add(Long.valueOf(member.toString()));
+            });
+        }
+        return containedIds;
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * DB에 반영된 등록/취소를 Set에 반영하고 모든 Pod의 Bloom Filter 무효화
+     */
+    public void onChanged(Long userId, Long targetId, boolean added) {
+        redisTemplate.execute(APPLY_SCRIPT, Arrays.asList(setKey(userId), versionKey(userId)),
+                String.valueOf(targetId), added ? "1" : "0", String.valueOf(SET_TTL_SECONDS));
+        invalidate(userId);
+    }
+
+    // Set을 직접 변경한 경우(Write-Behind 토글) Bloom Filter만 무효화
+    public void invalidate(Long userId) {
+        bloomFilters.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, String.valueOf(userId));
+        } catch (Exception e) {
+            log.error("[{}] 무효화 메시지 발행 실패. UserId: {}", getClass().getSimpleName(), userId, e);
+        }
+    }
+
+    // RedisConfig의 MessageListenerAdapter가 호출 (다른 Pod에서 발행한 무효화 메시지 수신)
+    public void handleInvalidation(String message) {
+        try {
+            bloomFilters.invalidate(Long.parseLong(message));
+        } catch (NumberFormatException e) {
+            log.warn("[{}] 잘못된 무효화 메시지: {}", getClass().getSimpleName(), message);
+        }
+    }
+
+    /**
+     * Set이 없으면(최초 접근, TTL 만료) DB의 목록으로 채움
+     * ㄴ DB 조회 이후 토글이 반영되었으면 옛 스냅샷을 버리고 다시 조회 (최대 LOAD_MAX_ATTEMPTS회)
+     * ㄴ 버퍼에 미반영 토글이 남아 있으면 잠시 기다린 뒤 다시 조회 (flush가 계속 밀려 있으면 예외)
+     */
+    public void ensureLoaded(Long userId) {
+        String key = setKey(userId);
+        for (int attempt = 0; attempt < LOAD_MAX_ATTEMPTS; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                return;
+            }
+
+            // 변경 버전은 DB 조회 전에 읽어야 함 (조회 도중 커밋된 토글을 감지)
+            String version = redisTemplate.opsForValue().get(versionKey(userId));
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(SET_TTL_SECONDS));
+            args.add(version != null ? version : "0");
+            args.add(LOADED_MARKER);
+            for (Long targetId : loadTargetIds(userId)) {
+                args.add(String.valueOf(targetId));
+            }
+
+            Long result = redisTemplate.execute(LOAD_SCRIPT, Arrays.asList(key, versionKey(userId), pendingKey(userId)), args.toArray());
+            if (result == null || result >= 0) {
+                return;
+            }
+            if (result == -2) {
+                log.debug("[{}] 미반영 토글 존재, flush 대기 후 다시 조회. UserId: {}", getClass().getSimpleName(), userId);
+                waitForFlush();
+                continue;
+            }
+            log.debug("[{}] 로드 중 변경 감지, 다시 조회. UserId: {}", getClass().getSimpleName(), userId);
+        }
+        // 필터가 빈 Set으로 만들어지지 않도록 예외 (Caffeine은 예외 시 캐싱하지 않음)
+        throw new IllegalStateException("멤버십 Set 로드 실패 (로드 중 변경 반복 또는 미반영 토글 대기 초과). Key: " + key);
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private void waitForFlush() {
+        try {
+            Thread.sleep(PENDING_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("멤버십 Set 로드 대기 중 인터럽트", e);
+        }
+    }
+
+    // 로드 중 무효화가 들어오면 Caffeine이 로드 완료 후 제거하므로 옛 스냅샷이 남지 않음
+    private LongBloomFilter bloomFilter(Long userId) {
+        return bloomFilters.get(userId, this::buildBloomFilter);
+    }
+
+    private LongBloomFilter buildBloomFilter(Long userId) {
+        ensureLoaded(userId);
+        List<?> members = redisTemplate.execute(SNAPSHOT_SCRIPT, Collections.singletonList(setKey(userId)), String.valueOf(BLOOM_TTL_SECONDS * 2));
+
+        List<Long> targetIds = new ArrayList<>();
+        if (members != null) {
+            for (Object member : members) {
+                if (!LOADED_MARKER.equals(member)) targetIds.add(Long.valueOf(member.toString()));
+            }
+        }
+        return LongBloomFilter.of(targetIds, BLOOM_FPP);
+    }
+}
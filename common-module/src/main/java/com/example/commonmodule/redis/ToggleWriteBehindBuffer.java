@@ -0,0 +1,321 @@
+package com.example.commonmodule.redis;
+
+import com.example.commonmodule.redis.BatchLeaderLease.Lease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 사용자-대상 토글(북마크/관심 등) Write-Behind 버퍼 공통 처리
+ * ㄴ 토글 시 하위 클래스의 Lua 스크립트가 사용자별 Set 변경 + Stream 기록 + 실시간 통계 증감 + 사용자별 미반영 토글 수 증가를 처리한다.
+ *    (Stream 항목 - u: userId, p: targetId, d: +1/-1, c: 실시간 통계에 실제로 더한 값 (통계 Hash가 없었으면 0))
+ * ㄴ 스케줄러(리더 1대)가 flush()로 Stream을 읽어 같은 (사용자, 대상)의 토글을 최종 상태로 합친 뒤 한 트랜잭션으로 반영한다.
+ * ㄴ 카운트는 토글 시점이 아니라, 반영 직전 DB에 실제로 있던 행과 비교한 "실제 변경분"으로 같은 트랜잭션에서 증감한다.
+ *    (Set이 DB와 어긋나 INSERT IGNORE가 0건이 되는 경우에도 카운트가 벌어지지 않음)
+ * ㄴ 커밋 이후 실시간 통계를 (실제 변경분 - c 합계)만큼 보정하고, 사용자별 미반영 토글 수를 줄인 뒤 Ack 한다. (Lua 1회)
+ *    (커밋 후 Ack 전에 실패하면 재처리 시 이미 반영된 행으로 판단되어 DB 카운트는 중복 반영되지 않고, 실시간 통계만 한 번 더 보정될 수 있음)
+ * ㄴ 미반영 토글이 남은 사용자는 Set이 만료되어도 DB에서 다시 로드하지 않는다. (ToggleMembershipIndex - DB에 아직 없는 토글이 빠진 Set으로 다음 토글 방향이 뒤집히지 않도록)
+ *
+ * [리더 교체 시 중복 반영 방지]
+ * ㄴ 읽기/Ack 스크립트에서 리더 임대 값을 함께 확인하여, 임대를 잃은 이전 리더는 새 항목을 읽거나 Ack/통계 보정을 하지 못한다.
+ * ㄴ 이미 읽은 항목을 들고 멈췄던 이전 리더와 새 리더가 같은 항목을 동시에 반영하는 경우는 findExisting의 잠금 읽기(FOR UPDATE)로 직렬화한다.
+ *    (기존 행은 먼저 커밋한 쪽이 끝날 때까지 대기 후 최신 상태를 읽고, 없는 행은 갭 잠금 충돌로 한쪽이 롤백되어 다음 실행에서 재처리)
+ */
+@Slf4j
+public abstract class ToggleWriteBehindBuffer {
+
+    protected final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ToggleMembershipIndex membershipIndex;
+
+    private final String streamKey;
+    private final String consumerGroup;
+    private final String statsKeyPrefix;
+    private final String countField;
+
+    private volatile boolean groupCreated = false;
+
+    private static final String CONSUMER_NAME = "leader"; // 리더 1대만 소비하므로 이름 고정 (리더가 바뀌어도 미처리(PEL) 항목을 이어받음)
+    private static final int READ_COUNT = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    // 리더 임대를 보유한 경우에만 Stream 읽기
+    // ㄴ KEYS[1]: Stream, KEYS[2]: 리더 임대 / ARGV[1]: 임대 값, ARGV[2]: Consumer Group, ARGV[3]: Consumer, ARGV[4]: 개수, ARGV[5]: "0"(PEL) / ">"(새 항목)
+    // ㄴ 반환: [[id, [field, value, ...]], ...], 임대 상실 시 nil (PEL에 남아 있지만 삭제된 항목은 필드 목록이 nil)
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return false end " +
+            "local r = redis.call('XREADGROUP', 'GROUP', ARGV[2], ARGV[3], 'COUNT', ARGV[4], 'STREAMS', KEYS[1], ARGV[5]) " +
+            "if not r then return {} end " +
+            "return r[1][2]",
+            List.class);
+
+    // 리더 임대를 보유한 경우에만 실시간 통계 보정 + 미반영 토글 수 차감 + Ack/삭제
+    // ㄴ KEYS[1]: Stream, KEYS[2]: 리더 임대, KEYS[3..]: 대상별 통계 Hash(n개) + 사용자별 미반영 토글 수(m개)
+    // ㄴ ARGV[1]: 임대 값, ARGV[2]: Consumer Group, ARGV[3]: 카운트 필드, ARGV[4]: n, ARGV[5]: m, ARGV[6..]: 보정값(n개) + 차감 수(m개) + 항목 ID
+    // ㄴ 통계는 필드가 있을 때만 보정 (없으면 다음 조회 시 DB 값으로 초기화됨)
+    // ㄴ 반환: 1(Ack), -1(임대 상실)
+    private static final RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return -1 end " +
+            "local n = tonumber(ARGV[4]) " +
+            "local m = tonumber(ARGV[5]) " +
+            "for i = 1, n do " +
+            "  if redis.call('HEXISTS', KEYS[2 + i], ARGV[3]) == 1 then " +
+            "    redis.call('HINCRBY', KEYS[2 + i], ARGV[3], ARGV[5 + i]) " +
+            "  end " +
+            "end " +
+            "for i = 1, m do " +
+            "  if redis.call('DECRBY', KEYS[2 + n + i], ARGV[5 + n + i]) <= 0 then " +
+            "    redis.call('DEL', KEYS[2 + n + i]) " +
+            "  end " +
+            "end " +
+            "local first = 6 + n + m " +
+            "if first <= #ARGV then " +
+            "  redis.call('XACK', KEYS[1], ARGV[2], unpack(ARGV, first)) " +
+            "  redis.call('XDEL', KEYS[1], unpack(ARGV, first)) " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    protected ToggleWriteBehindBuffer(StringRedisTemplate redisTemplate, TransactionTemplate transactionTemplate,
+                                      ToggleMembershipIndex membershipIndex,
+                                      String streamKey, String consumerGroup, String statsKeyPrefix, String countField) {
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.membershipIndex = membershipIndex;
+        this.streamKey = streamKey;
+        this.consumerGroup = consumerGroup;
+        this.statsKeyPrefix = statsKeyPrefix;
+        this.countField = countField;
+    }
+
+    //=====================================//
+    //== 하위 클래스 구현 (DB 반영 방식) ==//
+    //=====================================//
+
+    /**
+     * DB에 이미 있는 (사용자, 대상) 행을 잠금 읽기(SELECT ... FOR UPDATE)로 조회 (flush 트랜잭션 안에서 호출)
+     * ㄴ 리더 교체 중 같은 항목을 동시에 반영하는 두 트랜잭션을 직렬화하여 카운트가 두 번 반영되지 않도록 함
+     * @return pairKey(userId, targetId) 형식의 키 목록
+     */
+    protected abstract Set<String> findExisting(List<long[]> pairs);
+
+    /**
+     * 행 추가/삭제 + 대상별 카운트 증감 (flush 트랜잭션 안에서 호출)
+     * @param inserts     [userId, targetId] 목록 (DB에 없던 행만)
+     * @param deletes     [userId, targetId] 목록 (DB에 있던 행만)
+     * @param countDeltas [targetId, 실제 변경분] 목록 (0은 제외)
+     */
+    protected abstract void applyChanges(List<long[]> inserts, List<long[]> deletes, List<long[]> countDeltas);
+
+    /**
+     * 커밋 + Ack 이후 후속 처리 (사용자별 개수 캐시, 랭킹 갱신 등 - 실패해도 재처리하지 않음)
+     */
+    protected void afterFlush(Set<Long> userIds, List<long[]> countDeltas) {
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * Stream에 쌓인 토글을 DB에 반영 (스케줄러에서 리더 임대를 획득한 Pod만 호출)
+     * ㄴ 이전 실행에서 Ack하지 못한 항목(PEL)부터 처리한 뒤 새 항목을 읽음
+     * ㄴ 읽기/Ack마다 임대를 확인하여 임대를 잃으면 중단 (남은 항목은 새 리더가 PEL에서 이어서 처리)
+     * @return 반영한 (사용자, 대상) 건수
+     */
+    public int flush(Lease lease) {
+        ensureGroup();
+
+        int applied = 0;
+        boolean pending = true; // 미처리 항목(PEL)부터
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<MapRecord<String, Object, Object>> records;
+            try {
+                records = read(lease, pending ? "0" : ">");
+            } catch (Exception e) {
+                groupCreated = false; // Redis 초기화 등으로 그룹이 사라졌을 수 있으므로 다음 실행에서 다시 생성
+                throw e;
+            }
+
+            if (records == null) {
+                log.warn("[ToggleWriteBehindBuffer] 리더 임대 상실로 반영 중단. Stream: {}, fencingToken: {}", streamKey, lease.getFencingToken());
+                break;
+            }
+            if (records.isEmpty()) {
+                if (!pending) break;
+                pending = false; // 미처리 항목을 모두 처리했으면 새 항목으로
+                continue;
+            }
+
+            applied += applyRecords(lease, records);
+        }
+        return applied;
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    protected static String pairKey(long userId, long targetId) {
+        return userId + ":" + targetId;
+    }
+
+    /**
+     * 같은 (사용자, 대상)의 토글을 하나로 합침 (Stream 순서 유지)
+     * @return pairKey -> [userId, targetId, 마지막 d, c 합계(토글 시점에 실시간 통계에 실제로 더한 값), 항목 수]
+     */
+    static Map<String, long[]> coalesce(List<MapRecord<String, Object, Object>> records) {
+        Map<String, long[]> finalStates = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                Map<Object, Object> value = record.getValue();
+                long userId = Long.parseLong(value.get("u").toString());
+                long targetId = Long.parseLong(value.get("p").toString());
+                long delta = Long.parseLong(value.get("d").toString());
+                Object counted = value.get("c");
+                long applied = counted != null ? Long.parseLong(counted.toString()) : delta; // c가 없는 이전 형식은 증감된 것으로 간주
+
+                long[] state = finalStates.computeIfAbsent(pairKey(userId, targetId), k -> new long[]{userId, targetId, 0, 0, 0});
+                state[2] = delta;
+                state[3] += applied;
+                state[4]++;
+            } catch (Exception e) {
+                log.warn("[ToggleWriteBehindBuffer] 잘못된 Stream 항목 건너뜀. Stream: {}, Id: {}", record.getStream(), record.getId(), e);
+            }
+        }
+        return finalStates;
+    }
+
+    // 임대 확인 후 읽기 (임대 상실 시 null)
+    private List<MapRecord<String, Object, Object>> read(Lease lease, String offset) {
+        List<?> entries = redisTemplate.execute(READ_SCRIPT, Arrays.asList(streamKey, lease.getKey()),
+                lease.getValue(), consumerGroup, CONSUMER_NAME, String.valueOf(READ_COUNT), offset);
+        if (entries == null) {
+            return null;
+        }
+
+        List<MapRecord<String, Object, Object>> records = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            List<?> idAndFields = (List<?>) entry;
+            Map<Object, Object> value = new HashMap<>();
+            if (idAndFields.size() > 1 && idAndFields.get(1) instanceof List<?> fields) {
+                for (int i = 0; i + 1 < fields.size(); i += 2) {
+                    value.put(fields.get(i), fields.get(i + 1));
+                }
+            }
+            // 삭제된 항목은 빈 값으로 전달 (coalesce에서 건너뛰고 Ack만 처리)
+            records.add(StreamRecords.<String, Object, Object>mapBacked(value)
+                    .withStreamKey(streamKey)
+                    .withId(RecordId.of(idAndFields.get(0).toString())));
+        }
+        return records;
+    }
+
+    // 최종 상태만 한 트랜잭션으로 반영 후 통계 보정 + Ack
+    private int applyRecords(Lease lease, List<MapRecord<String, Object, Object>> records) {
+        Map<String, long[]> finalStates = coalesce(records);
+        List<long[]> pairs = new ArrayList<>(finalStates.size());
+        Set<Long> userIds = new HashSet<>();
+        Map<Long, Long> recordsByUser = new LinkedHashMap<>();
+        for (long[] state : finalStates.values()) {
+            pairs.add(new long[]{state[0], state[1]});
+            userIds.add(state[0]);
+            recordsByUser.merge(state[0], state[4], Long::sum);
+        }
+
+        // targetId -> [실제 변경분, 토글 시점에 실시간 통계에 더한 값]
+        Map<Long, long[]> countsByTarget = new LinkedHashMap<>();
+        if (!pairs.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> existing = findExisting(pairs);
+                List<long[]> inserts = new ArrayList<>();
+                List<long[]> deletes = new ArrayList<>();
+
+                for (Map.Entry<String, long[]> entry : finalStates.entrySet()) {
+                    long[] state = entry.getValue();
+                    boolean exists = existing.contains(entry.getKey());
+                    long actual = 0;
+                    if (state[2] > 0 && !exists) {
+                        inserts.add(new long[]{state[0], state[1]});
+                        actual = 1;
+                    } else if (state[2] < 0 && exists) {
+                        deletes.add(new long[]{state[0], state[1]});
+                        actual = -1;
+                    }
+                    long[] counts = countsByTarget.computeIfAbsent(state[1], k -> new long[2]);
+                    counts[0] += actual;
+                    counts[1] += state[3];
+                }
+
+                applyChanges(inserts, deletes, toCountDeltas(countsByTarget));
+            });
+        }
+
+        // 커밋이 끝난 뒤에만 Ack (실패 시 PEL에 남아 다음 실행에서 재처리)
+        if (!acknowledge(lease, records, countsByTarget, recordsByUser)) {
+            throw new IllegalStateException("리더 임대 상실로 Ack 중단 (새 리더가 PEL에서 재처리). Stream: " + streamKey);
+        }
+
+        afterFlush(userIds, toCountDeltas(countsByTarget));
+        return finalStates.size();
+    }
+
+    private List<long[]> toCountDeltas(Map<Long, long[]> countsByTarget) {
+        List<long[]> countDeltas = new ArrayList<>();
+        countsByTarget.forEach((targetId, counts) -> {
+            if (counts[0] != 0) countDeltas.add(new long[]{targetId, counts[0]});
+        });
+        return countDeltas;
+    }
+
+    // 통계 보정(토글 시점에 더한 값과 실제 변경분이 다른 대상만, 보통은 없음) + 미반영 토글 수 차감 + Ack를 임대 확인과 함께 처리
+    private boolean acknowledge(Lease lease, List<MapRecord<String, Object, Object>> records,
+                                Map<Long, long[]> countsByTarget, Map<Long, Long> recordsByUser) {
+        List<String> keys = new ArrayList<>();
+        keys.add(streamKey);
+        keys.add(lease.getKey());
+        List<String> corrections = new ArrayList<>();
+        countsByTarget.forEach((targetId, counts) -> {
+            long correction = counts[0] - counts[1];
+            if (correction != 0) {
+                keys.add(statsKeyPrefix + targetId);
+                corrections.add(String.valueOf(correction));
+            }
+        });
+        List<String> decrements = new ArrayList<>();
+        recordsByUser.forEach((userId, count) -> {
+            keys.add(membershipIndex.pendingKey(userId));
+            decrements.add(String.valueOf(count));
+        });
+
+        List<String> args = new ArrayList<>();
+        args.add(lease.getValue());
+        args.add(consumerGroup);
+        args.add(countField);
+        args.add(String.valueOf(corrections.size()));
+        args.add(String.valueOf(decrements.size()));
+        args.addAll(corrections);
+        args.addAll(decrements);
+        records.forEach(record -> args.add(record.getId().getValue()));
+
+        Long result = redisTemplate.execute(ACK_SCRIPT, keys, args.toArray());
+        return result != null && result == 1;
+    }
+
+    private void ensureGroup() {
+        if (groupCreated) {
+            return;
+        }
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), consumerGroup);
+        } catch (Exception e) {
+            log.debug("[ToggleWriteBehindBuffer] Consumer Group 생성 생략 (이미 존재): {}", e.getMessage());
+        }
+        groupCreated = true;
+    }
+}
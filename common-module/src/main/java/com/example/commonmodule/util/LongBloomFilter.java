@@ -0,0 +1,70 @@
+package com.example.commonmodule.util;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Long ID 전용 Bloom Filter (In-Process, 생성 후 읽기 전용)
+ * ㄴ mightContain()이 false면 "확실히 없음", true면 "있을 수도 있음" (오탐률은 생성 시 지정)
+ * ㄴ 생성 이후에는 put()하지 않고 읽기만 하므로 별도 동기화 없이 여러 스레드에서 공유할 수 있다.
+ */
+public class LongBloomFilter {
+
+    private final BitSet bits;
+    private final int bitSize;
+    private final int hashCount;
+
+    private LongBloomFilter(int bitSize, int hashCount) {
+        this.bits = new BitSet(bitSize);
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * @param values 포함할 ID 목록
+     * @param fpp    목표 오탐률 (예: 0.01)
+     */
+    public static LongBloomFilter of(Collection<Long> values, double fpp) {
+        int expected = Math.max(values.size(), 16);
+        int bitSize = (int) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitSize / expected * Math.log(2)));
+
+        LongBloomFilter filter = new LongBloomFilter(bitSize, hashCount);
+        for (Long value : values) {
+            filter.put(value);
+        }
+        return filter;
+    }
+
+    public boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            if (!bits.get(index(h1, h2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            bits.set(index(h1, h2, i));
+        }
+    }
+
+    // Double Hashing (h1 + i * h2)으로 k개의 비트 위치 계산
+    private int index(long h1, long h2, int i) {
+        return (int) Math.floorMod(h1 + i * h2, (long) bitSize);
+    }
+
+    // SplitMix64 (연속된 ID도 고르게 분산)
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.commonmodule.redis;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToggleWriteBehindBufferTest {
+
+    private static long sequence = 0;
+
+    @Test
+    void 같은_사용자_대상의_토글은_마지막_상태와_통계_증감_합계로_합쳐짐() {
+        List<MapRecord<String, Object, Object>> records = List.of(
+                toggle(1, 10, 1),
+                toggle(1, 10, -1),
+                toggle(2, 10, 1),
+                toggle(1, 10, 1),
+                toggle(1, 20, -1));
+
+        Map<String, long[]> states = ToggleWriteBehindBuffer.coalesce(records);
+
+        assertThat(states).containsOnlyKeys("1:10", "2:10", "1:20");
+        assertThat(states.get("1:10")).containsExactly(1, 10, 1, 1, 3);
+        assertThat(states.get("2:10")).containsExactly(2, 10, 1, 1, 1);
+        assertThat(states.get("1:20")).containsExactly(1, 20, -1, -1, 1);
+    }
+
+    @Test
+    void 추가_후_취소하면_마지막_상태는_취소_합계는_0() {
+        Map<String, long[]> states = ToggleWriteBehindBuffer.coalesce(List.of(
+                toggle(3, 30, 1),
+                toggle(3, 30, -1)));
+
+        assertThat(states.get("3:30")).containsExactly(3, 30, -1, 0, 2);
+    }
+
+    @Test
+    void 통계_Hash가_없어_증감하지_않은_토글은_합계에서_제외() {
+        Map<String, long[]> states = ToggleWriteBehindBuffer.coalesce(List.of(
+                toggle(5, 50, 1, 0),
+                toggle(5, 50, -1, -1),
+                toggle(5, 50, 1, 1)));
+
+        assertThat(states.get("5:50")).containsExactly(5, 50, 1, 0, 3);
+    }
+
+    @Test
+    void c가_없는_이전_형식은_d만큼_증감된_것으로_간주() {
+        Map<String, long[]> states = ToggleWriteBehindBuffer.coalesce(List.of(
+                record(Map.of("u", "6", "p", "60", "d", "1"))));
+
+        assertThat(states.get("6:60")).containsExactly(6, 60, 1, 1, 1);
+    }
+
+    @Test
+    void 잘못된_항목은_건너뜀() {
+        MapRecord<String, Object, Object> broken = record(Map.of("u", "x", "p", "10", "d", "1", "c", "1"));
+        MapRecord<String, Object, Object> missing = record(Map.of("u", "1", "d", "1"));
+
+        Map<String, long[]> states = ToggleWriteBehindBuffer.coalesce(List.of(broken, missing, toggle(4, 40, 1)));
+
+        assertThat(states).containsOnlyKeys("4:40");
+    }
+
+    private static MapRecord<String, Object, Object> toggle(long userId, long targetId, long delta) {
+        return toggle(userId, targetId, delta, delta);
+    }
+
+    private static MapRecord<String, Object, Object> toggle(long userId, long targetId, long delta, long counted) {
+        return record(Map.of("u", String.valueOf(userId), "p", String.valueOf(targetId),
+                "d", String.valueOf(delta), "c", String.valueOf(counted)));
+    }
+
+    private static MapRecord<String, Object, Object> record(Map<Object, Object> value) {
+        return StreamRecords.<String, Object, Object>mapBacked(value)
+                .withStreamKey("test:stream")
+                .withId(RecordId.of(1L, sequence++));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.commonmodule.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongBloomFilterTest {
+
+    private static final double FPP = 0.01;
+
+    @Test
+    void 넣은_값은_항상_포함으로_판단() {
+        List<Long> values = new ArrayList<>();
+        for (long i = 1; i <= 10_000; i++) {
+            values.add(i * 7919);
+        }
+
+        LongBloomFilter filter = LongBloomFilter.of(values, FPP);
+
+        for (Long value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    void 오탐률은_설정값_근처로_유지() {
+        List<Long> values = new ArrayList<>();
+        for (long i = 1; i <= 10_000; i++) {
+            values.add(i);
+        }
+        LongBloomFilter filter = LongBloomFilter.of(values, FPP);
+
+        int trials = 100_000;
+        int falsePositives = 0;
+        for (long i = 1; i <= trials; i++) {
+            if (filter.mightContain(1_000_000L + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / trials).isLessThan(FPP * 2);
+    }
+
+    @Test
+    void 빈_목록이면_아무것도_포함하지_않음() {
+        LongBloomFilter filter = LongBloomFilter.of(List.of(), FPP);
+
+        assertThat(filter.mightContain(1L)).isFalse();
+    }
+}
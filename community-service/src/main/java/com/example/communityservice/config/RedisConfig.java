@@ -0,0 +1,44 @@
+package com.example.communityservice.config;
+
+import com.example.commonmodule.redis.BatchLeaderLease;
+import com.example.communityservice.service.PostBookmarkMembershipService;
+import com.example.communityservice.service.PostDetailCacheService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+
+@Configuration
+public class RedisConfig {
+
+    // 로컬(L1) 캐시 무효화 메시지 구독 (Pod 간 캐시 정합성 유지용)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       MessageListenerAdapter postCacheInvalidationListener,
+                                                                       MessageListenerAdapter postBookmarkMembershipInvalidationListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(postCacheInvalidationListener, new ChannelTopic(PostDetailCacheService.INVALIDATION_CHANNEL));
+        container.addMessageListener(postBookmarkMembershipInvalidationListener, new ChannelTopic(PostBookmarkMembershipService.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public MessageListenerAdapter postCacheInvalidationListener(PostDetailCacheService postDetailCacheService) {
+        return new MessageListenerAdapter(postDetailCacheService, "handleInvalidation");
+    }
+
+    @Bean
+    public MessageListenerAdapter postBookmarkMembershipInvalidationListener(PostBookmarkMembershipService postBookmarkMembershipService) {
+        return new MessageListenerAdapter(postBookmarkMembershipService, "handleInvalidation");
+    }
+
+    // 배치 스케줄러 리더 임대 (리더 1대만 Write-Behind/동기화 작업 수행)
+    @Bean
+    public BatchLeaderLease batchLeaderLease(StringRedisTemplate stringRedisTemplate) {
+        return new BatchLeaderLease(stringRedisTemplate);
+    }
+}
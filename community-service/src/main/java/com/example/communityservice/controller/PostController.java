@@ -27,6 +27,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Community API", description = "커뮤니티 게시글, 댓글, 북마크 및 모집 관리 API")
 @RestController
 @RequiredArgsConstructor
@@ -34,6 +36,8 @@ public class PostController {
 
     private final PostService postService;
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
     @Operation(summary = "게시글 작성", description = "새로운 게시글(QnA, 정보공유, 팀원모집)을 작성합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "작성 성공 (생성된 게시글 ID 반환)"),
@@ -91,6 +95,41 @@ public class PostController {
         return ResponseEntity.ok(new CustomPageResponse<>(page));
     }
 
+    @Operation(summary = "게시글 목록 조회 (커서 기반 무한 스크롤)", description = "전체 개수 없이 다음 페이지 커서(nextCursor)를 반환합니다. 첫 요청은 cursor 없이 호출합니다. (인증 불필요)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서 값 [G002]", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/posts/scroll")
+    public ResponseEntity<CursorPageResponse<PostResponse>> getPostsByCursor(
+            @AuthenticationPrincipal AuthUser authUser,
+            @Parameter(description = "카테고리 (QNA, INFO, RECRUIT)") @RequestParam(required = false) PostCategory category,
+            @Parameter(description = "해결 여부 (QnA 전용)") @RequestParam(required = false) Boolean isSolved,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 50)") @RequestParam(defaultValue = "10") int size) {
+
+        Long currentUserId = (authUser != null) ? authUser.getUserId() : null;
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        return ResponseEntity.ok(postService.getPostsByCursor(currentUserId, category, isSolved, cursor, pageSize));
+    }
+
+    @Operation(summary = "인기 급상승 게시글 조회", description = "최근 조회/북마크/댓글 활동에 시간 감쇠를 적용한 점수 순으로 상위 게시글을 조회합니다. (인증 불필요)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @GetMapping("/posts/trending")
+    public ResponseEntity<List<PostResponse>> getTrendingPosts(
+            @AuthenticationPrincipal AuthUser authUser,
+            @Parameter(description = "카테고리 (QNA, INFO, RECRUIT / 생략 시 전체)") @RequestParam(required = false) PostCategory category,
+            @Parameter(description = "조회 개수 (최대 50)") @RequestParam(defaultValue = "10") int size) {
+
+        Long currentUserId = (authUser != null) ? authUser.getUserId() : null;
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        return ResponseEntity.ok(postService.getTrendingPosts(currentUserId, category, limit));
+    }
+
     @Operation(summary = "게시글 상세 조회", description = "게시글의 상세 내용과 계층형 댓글 목록을 조회합니다. 로그인 시 북마크 여부가 포함됩니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
@@ -103,6 +142,37 @@ public class PostController {
         return ResponseEntity.ok(postService.getPostDetail(postId, currentUserId));
     }
 
+    @Operation(summary = "댓글 목록 조회 (커서 기반)", description = "루트 댓글을 작성순으로 조회합니다. 대댓글은 replyCount를 참고하여 대댓글 조회 API로 펼칠 때 불러옵니다. (인증 불필요)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서 값 [G002]", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/posts/{postId}/comments")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getComments(
+            @PathVariable Long postId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 50)") @RequestParam(defaultValue = "20") int size) {
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        return ResponseEntity.ok(postService.getComments(postId, cursor, pageSize));
+    }
+
+    @Operation(summary = "대댓글 목록 조회 (커서 기반)", description = "특정 댓글의 대댓글을 작성순으로 조회합니다. (인증 불필요)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서 값 [G002]", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/posts/{postId}/comments/{commentId}/replies")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getReplies(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 50)") @RequestParam(defaultValue = "20") int size) {
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        return ResponseEntity.ok(postService.getReplies(postId, commentId, cursor, pageSize));
+    }
+
     @Operation(summary = "북마크 토글", description = "게시글을 북마크에 추가하거나 삭제합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "토글 성공"),
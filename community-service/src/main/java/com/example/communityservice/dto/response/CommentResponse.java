@@ -1,6 +1,7 @@
 package com.example.communityservice.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -27,6 +28,10 @@ public class CommentResponse {
     private LocalDateTime createdAt;
     private LocalDateTime lastModifiedAt;
 
+    // 대댓글 개수 (커서 기반 댓글 조회 전용 - 대댓글은 클라이언트가 펼칠 때 별도 조회)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long replyCount;
+
     @Builder.Default
     private List<CommentResponse> children = new ArrayList<>();
 
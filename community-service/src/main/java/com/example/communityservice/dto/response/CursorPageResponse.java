@@ -0,0 +1,26 @@
+package com.example.communityservice.dto.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서(Keyset) 기반 무한 스크롤 응답
+ * ㄴ 전체 개수(COUNT) 대신 다음 페이지 조회용 커서만 내려준다.
+ */
+@Getter
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // 마지막 페이지면 null
+
+    public CursorPageResponse(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+}
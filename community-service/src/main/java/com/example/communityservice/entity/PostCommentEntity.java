@@ -13,7 +13,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "community_comment", indexes = {
-        @Index(name = "idx_comment_post", columnList = "post_id, created_at ASC") // 게시글별 댓글 목록 조회
+        @Index(name = "idx_comment_post", columnList = "post_id, created_at ASC"), // 게시글별 댓글 목록 조회
+        @Index(name = "idx_comment_post_parent", columnList = "post_id, parent_id, created_at ASC") // 루트 댓글/대댓글 커서 조회
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -16,13 +16,15 @@ import java.util.List;
 @Entity
 @Table(name = "community_post", indexes = {
         // 1. [QnA 최적화] 카테고리 + 해결여부 + 최신순 (가장 많이 씀)
-        @Index(name = "idx_post_qna_date", columnList = "category, is_solved, created_at DESC"),
+        // ㄴ 커서 조회는 (created_at DESC, id DESC)로 정렬하므로 id도 DESC로 명시 (암묵적 PK 접미사는 ASC라 filesort 발생)
+        // ㄴ 기존 인덱스 이름을 유지하므로 ddl-auto=update로는 컬럼이 바뀌지 않음 (운영 DB는 직접 재생성)
+        @Index(name = "idx_post_qna_date", columnList = "category, is_solved, created_at DESC, id DESC"),
 
         // 2. [인기글/공통] 카테고리 + 조회순 (해결여부 무관)
         @Index(name = "idx_post_category_view", columnList = "category, view_count DESC"),
 
         // 3. [일반 목록] 카테고리 + 최신순 (INFO, RECRUIT 등 해결여부 없는 카테고리용)
-        @Index(name = "idx_post_category_date", columnList = "category, created_at DESC"),
+        @Index(name = "idx_post_category_date", columnList = "category, created_at DESC, id DESC"),
 
         // 4. [마이페이지] 작성자별 조회
         @Index(name = "idx_post_user_id", columnList = "user_id, created_at DESC")
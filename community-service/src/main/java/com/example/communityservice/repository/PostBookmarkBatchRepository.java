@@ -0,0 +1,71 @@
+package com.example.communityservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 북마크 행 일괄 반영 전용 JDBC Repository (Write-Behind 소비자용)
+ * ㄴ 건별 INSERT/DELETE 대신 JDBC batchUpdate로 한 번에 전송 (rewriteBatchedStatements=true 필요)
+ * ㄴ INSERT IGNORE / DELETE 모두 멱등이므로 같은 배치가 재처리되어도 결과가 같음
+ * ㄴ 카운트 증감은 반영 전 findExisting으로 실제 변경 대상을 가려낸 뒤 같은 트랜잭션에서 처리 (PostBookmarkBufferService)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostBookmarkBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이미 저장된 북마크 조회 (uk_post_user_bookmark 인덱스로 처리)
+     * ㄴ 잠금 읽기(FOR UPDATE)로 리더 교체 중 겹친 flush 트랜잭션을 직렬화 (없는 행은 갭 잠금으로 동시 INSERT 충돌 시 한쪽 롤백)
+     * @param bookmarks [userId, postId] 목록
+     * @return 존재하는 [userId, postId] 목록
+     */
+    public List<long[]> findExisting(List<long[]> bookmarks) {
+        if (bookmarks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "SELECT user_id, post_id FROM post_bookmark WHERE (user_id, post_id) IN ("
+                + String.join(", ", Collections.nCopies(bookmarks.size(), "(?, ?)")) + ") FOR UPDATE";
+        Object[] args = new Object[bookmarks.size() * 2];
+        for (int i = 0; i < bookmarks.size(); i++) {
+            args[i * 2] = bookmarks.get(i)[0];
+            args[i * 2 + 1] = bookmarks.get(i)[1];
+        }
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, args);
+    }
+
+    /**
+     * 북마크 등록 일괄 반영 (이미 있거나 게시글이 삭제된 행은 무시)
+     * @param bookmarks [userId, postId] 목록
+     */
+    public void insertAll(List<long[]> bookmarks) {
+        if (bookmarks.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT IGNORE INTO post_bookmark (user_id, post_id, created_at, last_modified_at) VALUES (?, ?, NOW(6), NOW(6))";
+        jdbcTemplate.batchUpdate(sql, bookmarks, bookmarks.size(), (ps, bookmark) -> {
+            ps.setLong(1, bookmark[0]);
+            ps.setLong(2, bookmark[1]);
+        });
+    }
+
+    /**
+     * 북마크 취소 일괄 반영
+     * @param bookmarks [userId, postId] 목록
+     */
+    public void deleteAll(List<long[]> bookmarks) {
+        if (bookmarks.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM post_bookmark WHERE user_id = ? AND post_id = ?";
+        jdbcTemplate.batchUpdate(sql, bookmarks, bookmarks.size(), (ps, bookmark) -> {
+            ps.setLong(1, bookmark[0]);
+            ps.setLong(2, bookmark[1]);
+        });
+    }
+}
@@ -1,12 +1,30 @@
 package com.example.communityservice.repository;
 
 import com.example.communityservice.entity.PostBookmarkEntity;
-import com.example.communityservice.entity.PostEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.List;
 
 public interface PostBookmarkRepository extends JpaRepository<PostBookmarkEntity, Long> {
-    boolean existsByPostAndUserId(PostEntity post, Long userId);
-    Optional<PostBookmarkEntity> findByPostAndUserId(PostEntity post, Long userId);
+
+    // 북마크 등록 (uk_post_user_bookmark 유니크 제약으로 중복 무시, 게시글이 없으면 0건) - 실제 삽입된 행 수 반환
+    // ㄴ 토글(등록 실패 시 같은 트랜잭션에서 삭제)을 위해 예외 없이 0건을 돌려주는 INSERT IGNORE ... SELECT 사용
+    // ㄴ SELECT 대상인 community_post 행에 공유 잠금(S Lock)이 걸림 (게시글 행을 수정하는 트랜잭션과는 대기가 생길 수 있음)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_bookmark (post_id, user_id, created_at, last_modified_at) " +
+            "SELECT p.id, :userId, NOW(6), NOW(6) FROM community_post p WHERE p.id = :postId",
+            nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // 북마크 취소 - 실제 삭제된 행 수 반환
+    @Modifying
+    @Query(value = "DELETE FROM post_bookmark WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // 사용자가 북마크한 게시글 ID 전체 (사용자별 북마크 Set 초기화용)
+    @Query("SELECT b.post.id FROM PostBookmarkEntity b WHERE b.userId = :userId")
+    List<Long> findAllPostIdsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
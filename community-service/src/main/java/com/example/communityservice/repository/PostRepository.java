@@ -4,7 +4,6 @@ import com.example.communityservice.entity.PostEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -19,19 +18,4 @@ public interface PostRepository extends JpaRepository<PostEntity, Long>, PostRep
     // 내가 댓글 단 게시글 조회
     @Query("SELECT DISTINCT c.post FROM PostCommentEntity c WHERE c.userId = :userId ORDER BY c.post.createdAt DESC")
     Page<PostEntity> findCommentedPosts(@Param("userId") Long userId, Pageable pageable);
-
-    // 조회수 Bulk Update (스케줄러용)
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE PostEntity p SET p.viewCount = p.viewCount + :count WHERE p.id = :id")
-    void incrementViewCount(@Param("id") Long id, @Param("count") Long count);
-
-    // 북마크 Bulk Update (스케줄러용)
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE PostEntity p SET p.bookmarkCount = p.bookmarkCount + :delta WHERE p.id = :id")
-    void updateBookmarkCount(@Param("id") Long id, @Param("delta") Long delta);
-
-    // 댓글 수 Bulk Update (스케줄러용)
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE PostEntity p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
-    void updateCommentCount(@Param("id") Long id, @Param("delta") Long delta);
 }
\ No newline at end of file
@@ -2,23 +2,52 @@ package com.example.communityservice.repository;
 
 import com.example.communityservice.dto.response.*;
 import com.example.communityservice.entity.enumerate.PostCategory;
-import org.springframework.data.domain.Page;
+import com.querydsl.core.Tuple;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PostRepositoryCustom {
-    // 기존 메서드
-    Page<PostResponse> searchPosts(Long userId, PostCategory category, Boolean isSolved, Pageable pageable);
+    // 기존 메서드 (content만 조회, 전체 개수는 countPosts로 분리)
+    // ㄴ 조회자와 무관한 공용 쿼리 (isBookmarked는 항상 false, 서비스에서 병합)
+    List<PostResponse> searchPosts(PostCategory category, Boolean isSolved, Pageable pageable);
+
+    long countPosts(PostCategory category, Boolean isSolved);
+
+    // 카테고리/해결여부별 게시글 수 (Tuple: category, isSolved, count)
+    List<Tuple> countGroupByCategoryAndSolved();
+
+    // 커서 기반 목록 조회 (다음 페이지 존재 여부 판단을 위해 limit은 호출 측에서 size + 1로 전달)
+    List<PostResponse> searchPostsByCursor(PostCategory category, Boolean isSolved,
+                                           LocalDateTime cursorCreatedAt, Long cursorId, int limit);
 
     // 내가 쓴 글 조회 (경량 DTO)
-    Page<MyPostResponse> findMyPosts(Long userId, PostCategory category, Pageable pageable);
+    List<MyPostResponse> findMyPosts(Long userId, PostCategory category, Pageable pageable);
+
+    long countMyPosts(Long userId, PostCategory category);
 
     // 내가 북마크한 글 조회 (경량 DTO + 카테고리 분류)
-    Page<MyBookmarkPostResponse> findMyBookmarkedPosts(Long userId, PostCategory category, Pageable pageable);
+    List<MyBookmarkPostResponse> findMyBookmarkedPosts(Long userId, PostCategory category, Pageable pageable);
+
+    long countMyBookmarkedPosts(Long userId, PostCategory category);
 
     Optional<PostDetailResponse> findPostDetailById(Long postId, Long loginUserId);
 
     List<CommentResponse> findCommentsByPostId(Long postId);
+
+    // ID 목록으로 게시글 조회 (랭킹 ZSET 조회 결과 Hydrate용, 순서는 호출 측에서 맞춤)
+    List<PostResponse> findPostsByIds(Collection<Long> postIds);
+
+    // 게시글별 카테고리 (Tuple: id, category)
+    List<Tuple> findCategoriesByIds(Collection<Long> postIds);
+
+    // 커서 기반 댓글 조회 (parentId가 null이면 루트 댓글, 아니면 해당 댓글의 대댓글 / limit은 size + 1)
+    List<CommentResponse> findCommentsByCursor(Long postId, Long parentId,
+                                               LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    // 부모 댓글별 대댓글 수 (Tuple: parentId, count)
+    List<Tuple> countRepliesByParentIds(Collection<Long> parentIds);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.communityservice.repository;
 import com.example.communityservice.dto.response.*;
 import com.example.communityservice.entity.*;
 import com.example.communityservice.entity.enumerate.PostCategory;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Projections;
@@ -11,11 +12,11 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,29 +33,12 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
 
 
     // 1. 게시글 목록 조회 (작성자 정보 Join 추가)
+    // ㄴ 전체 개수는 PostCountService(Redis 캐시)가 담당하므로 여기서는 content만 조회
+    // ㄴ 북마크 여부는 조회자마다 다르므로 여기서는 false로 두고, 서비스에서 IN 쿼리 한 번으로 일괄 병합 (목록 쿼리는 사용자 무관)
     @Override
-    public Page<PostResponse> searchPosts(Long userId, PostCategory category, Boolean isSolved, Pageable pageable) {
-
-        Expression<Boolean> isBookmarkedExpression = getIsBookmarkedExpression(userId);
-
-        List<PostResponse> content = queryFactory
-                .select(Projections.constructor(PostResponse.class,
-                        post.id,
-                        post.userId,
-                        userProfile.name,
-                        userProfile.email,
-                        post.category,
-                        post.title,
-                        post.content,
-                        post.viewCount,
-                        post.bookmarkCount,
-                        post.commentCount,
-                        post.isSolved,
-                        isBookmarkedExpression,
-                        post.recruitmentStatus,
-                        post.createdAt,
-                        post.lastModifiedAt
-                ))
+    public List<PostResponse> searchPosts(PostCategory category, Boolean isSolved, Pageable pageable) {
+        return queryFactory
+                .select(postResponseProjection())
                 .from(post)
                 .leftJoin(userProfile).on(post.userId.eq(userProfile.userId))
                 .where(
@@ -65,7 +49,10 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
                 .limit(pageable.getPageSize())
                 .orderBy(post.createdAt.desc())
                 .fetch();
+    }
 
+    @Override
+    public long countPosts(PostCategory category, Boolean isSolved) {
         Long total = queryFactory
                 .select(post.count())
                 .from(post)
@@ -75,9 +62,36 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
                 )
                 .fetchOne();
 
-        if (total == null) total = 0L;
+        return total != null ? total : 0L;
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    // 카테고리/해결여부별 게시글 수 집계 (카운트 캐시 보정용)
+    @Override
+    public List<Tuple> countGroupByCategoryAndSolved() {
+        return queryFactory
+                .select(post.category, post.isSolved, post.count())
+                .from(post)
+                .groupBy(post.category, post.isSolved)
+                .fetch();
+    }
+
+    // 1-1. 게시글 목록 조회 (Keyset 페이징 - COUNT 쿼리 없음)
+    // ㄴ (created_at, id) 기준으로 이전 페이지의 마지막 행 "다음"부터 읽으므로 깊은 페이지도 인덱스 범위 탐색 비용이 일정함
+    @Override
+    public List<PostResponse> searchPostsByCursor(PostCategory category, Boolean isSolved,
+                                                  LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        return queryFactory
+                .select(postResponseProjection())
+                .from(post)
+                .leftJoin(userProfile).on(post.userId.eq(userProfile.userId))
+                .where(
+                        categoryEq(category),
+                        isSolvedEq(isSolved),
+                        cursorLt(cursorCreatedAt, cursorId)
+                )
+                .orderBy(post.createdAt.desc(), post.id.desc())
+                .limit(limit)
+                .fetch();
     }
 
     // 게시글 상세 조회 (작성자 Join + 북마크 여부 확인)
@@ -116,18 +130,7 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
     @Override
     public List<CommentResponse> findCommentsByPostId(Long postId) {
         return queryFactory
-                .select(Projections.constructor(CommentResponse.class,
-                        postComment.id,
-                        postComment.post.id, // postId
-                        postComment.userId,
-                        userProfile.name,    // writerName
-                        userProfile.email,   // writerEmail
-                        postComment.content,
-                        postComment.isAccepted,
-                        postComment.parent.id, // parentId
-                        postComment.createdAt,
-                        postComment.lastModifiedAt
-                ))
+                .select(commentResponseProjection())
                 .from(postComment)
                 .leftJoin(userProfile).on(postComment.userId.eq(userProfile.userId))
                 .where(postComment.post.id.eq(postId))
@@ -136,7 +139,54 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
     }
 
     @Override
-    public Page<MyPostResponse> findMyPosts(Long userId, PostCategory category, Pageable pageable) {
+    public List<PostResponse> findPostsByIds(Collection<Long> postIds) {
+        return queryFactory
+                .select(postResponseProjection())
+                .from(post)
+                .leftJoin(userProfile).on(post.userId.eq(userProfile.userId))
+                .where(post.id.in(postIds))
+                .fetch();
+    }
+
+    @Override
+    public List<Tuple> findCategoriesByIds(Collection<Long> postIds) {
+        return queryFactory
+                .select(post.id, post.category)
+                .from(post)
+                .where(post.id.in(postIds))
+                .fetch();
+    }
+
+    // 커서 기반 댓글 조회 (작성순, idx_comment_post_parent 사용)
+    @Override
+    public List<CommentResponse> findCommentsByCursor(Long postId, Long parentId,
+                                                      LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        return queryFactory
+                .select(commentResponseProjection())
+                .from(postComment)
+                .leftJoin(userProfile).on(postComment.userId.eq(userProfile.userId))
+                .where(
+                        postComment.post.id.eq(postId),
+                        parentId != null ? postComment.parent.id.eq(parentId) : postComment.parent.isNull(),
+                        commentCursorGt(cursorCreatedAt, cursorId)
+                )
+                .orderBy(postComment.createdAt.asc(), postComment.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<Tuple> countRepliesByParentIds(Collection<Long> parentIds) {
+        return queryFactory
+                .select(postComment.parent.id, postComment.count())
+                .from(postComment)
+                .where(postComment.parent.id.in(parentIds))
+                .groupBy(postComment.parent.id)
+                .fetch();
+    }
+
+    @Override
+    public List<MyPostResponse> findMyPosts(Long userId, PostCategory category, Pageable pageable) {
         List<PostEntity> posts = queryFactory
                 .selectFrom(post)
                 .where(
@@ -148,24 +198,25 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
                 .orderBy(post.createdAt.desc())
                 .fetch();
 
+        return posts.stream()
+                .map(MyPostResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countMyPosts(Long userId, PostCategory category) {
         Long total = queryFactory
                 .select(post.count())
                 .from(post)
                 .where(post.userId.eq(userId), categoryEq(category))
                 .fetchOne();
 
-        if (total == null) total = 0L;
-
-        List<MyPostResponse> responses = posts.stream()
-                .map(MyPostResponse::from)
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(responses, pageable, total);
+        return total != null ? total : 0L;
     }
 
     @Override
-    public Page<MyBookmarkPostResponse> findMyBookmarkedPosts(Long userId, PostCategory category, Pageable pageable) {
-        List<MyBookmarkPostResponse> content = queryFactory
+    public List<MyBookmarkPostResponse> findMyBookmarkedPosts(Long userId, PostCategory category, Pageable pageable) {
+        return queryFactory
                 .select(Projections.constructor(MyBookmarkPostResponse.class,
                         post.id,
                         post.title,
@@ -185,7 +236,10 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
                 .limit(pageable.getPageSize())
                 .orderBy(postBookmark.createdAt.desc())
                 .fetch();
+    }
 
+    @Override
+    public long countMyBookmarkedPosts(Long userId, PostCategory category) {
         Long total = queryFactory
                 .select(post.count())
                 .from(post)
@@ -193,9 +247,7 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
                 .where(postBookmark.userId.eq(userId), categoryEq(category))
                 .fetchOne();
 
-        if (total == null) total = 0L;
-
-        return new PageImpl<>(content, pageable, total);
+        return total != null ? total : 0L;
     }
 
     private BooleanExpression categoryEq(PostCategory category) {
@@ -205,18 +257,57 @@ public class PostRepositoryImpl implements PostRepositoryCustom {
     //==================//
     //== Helper Method==//
     //==================//
-    private Expression<Boolean> getIsBookmarkedExpression(Long userId) {
-        if (userId == null) {
-            // 비로그인: 무조건 false
-            return Expressions.constant(false);
+    private Expression<PostResponse> postResponseProjection() {
+        return Projections.constructor(PostResponse.class,
+                post.id,
+                post.userId,
+                userProfile.name,
+                userProfile.email,
+                post.category,
+                post.title,
+                post.content,
+                post.viewCount,
+                post.bookmarkCount,
+                post.commentCount,
+                post.isSolved,
+                Expressions.constant(false), // isBookmarked (서비스에서 병합)
+                post.recruitmentStatus,
+                post.createdAt,
+                post.lastModifiedAt
+        );
+    }
+
+    private Expression<CommentResponse> commentResponseProjection() {
+        return Projections.constructor(CommentResponse.class,
+                postComment.id,
+                postComment.post.id, // postId
+                postComment.userId,
+                userProfile.name,    // writerName
+                userProfile.email,   // writerEmail
+                postComment.content,
+                postComment.isAccepted,
+                postComment.parent.id, // parentId
+                postComment.createdAt,
+                postComment.lastModifiedAt
+        );
+    }
+
+    // 댓글 Keyset 조건 (작성순): (created_at > ?) OR (created_at = ? AND id > ?)
+    private BooleanExpression commentCursorGt(LocalDateTime cursorCreatedAt, Long cursorId) {
+        if (cursorCreatedAt == null || cursorId == null) {
+            return null; // 첫 페이지
         }
+        return postComment.createdAt.gt(cursorCreatedAt)
+                .or(postComment.createdAt.eq(cursorCreatedAt).and(postComment.id.gt(cursorId)));
+    }
 
-        // 로그인: 서브쿼리로 존재 여부 확인 (Correlated Subquery)
-        return JPAExpressions.selectOne()
-                .from(postBookmark)
-                .where(postBookmark.post.id.eq(post.id)
-                        .and(postBookmark.userId.eq(userId)))
-                .exists();
+    // Keyset 조건: (created_at < ?) OR (created_at = ? AND id < ?)
+    private BooleanExpression cursorLt(LocalDateTime cursorCreatedAt, Long cursorId) {
+        if (cursorCreatedAt == null || cursorId == null) {
+            return null; // 첫 페이지
+        }
+        return post.createdAt.lt(cursorCreatedAt)
+                .or(post.createdAt.eq(cursorCreatedAt).and(post.id.lt(cursorId)));
     }
 
     private BooleanExpression isSolvedEq(Boolean isSolved) {
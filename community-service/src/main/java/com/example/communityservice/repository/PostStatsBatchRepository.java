@@ -0,0 +1,45 @@
+package com.example.communityservice.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 게시글 통계(조회수/북마크 수/댓글 수) 증분 반영 전용 JDBC Repository (스케줄러용)
+ * ㄴ 건별 JPQL UPDATE 대신 JDBC batchUpdate로 한 번에 전송 (rewriteBatchedStatements=true 필요)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostStatsBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // SQL에 직접 들어가는 컬럼명은 Enum으로만 지정 (외부 입력 차단)
+    @Getter
+    @RequiredArgsConstructor
+    public enum StatsColumn {
+        VIEW_COUNT("view_count"),
+        BOOKMARK_COUNT("bookmark_count"),
+        COMMENT_COUNT("comment_count");
+
+        private final String columnName;
+    }
+
+    /**
+     * 게시글별 증분 일괄 반영
+     * @param deltas [postId, delta] 목록
+     */
+    public void addAll(StatsColumn column, List<long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE community_post SET " + column.getColumnName() + " = " + column.getColumnName() + " + ? WHERE id = ?";
+        jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta[1]);
+            ps.setLong(2, delta[0]);
+        });
+    }
+}
@@ -1,92 +1,279 @@
 package com.example.communityservice.scheduler;
 
-import com.example.communityservice.repository.PostRepository;
+import com.example.commonmodule.redis.BatchLeaderLease;
+import com.example.commonmodule.redis.BatchLeaderLease.Lease;
+import com.example.communityservice.repository.PostStatsBatchRepository;
+import com.example.communityservice.repository.PostStatsBatchRepository.StatsColumn;
+import com.example.communityservice.service.PostBookmarkBufferService;
+import com.example.communityservice.service.PostCountService;
+import com.example.communityservice.service.PostTrendingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.*;
 
+/**
+ * 게시글 통계(조회수/북마크 수/댓글 수) Redis 증분 -> DB 동기화
+ *
+ * [처리 흐름]
+ * ㄴ 1) Drain : 증분 Hash를 실행마다 발급한 토큰 키로 RENAME (Lua로 원자 처리, 동시에 in-flight ZSET에 등록)
+ * ㄴ 2) Apply : HSCAN으로 CHUNK_SIZE씩 읽어 JDBC batch UPDATE (청크마다 별도 트랜잭션)
+ * ㄴ 3) Ack   : 커밋된 청크의 필드만 HDEL → 모두 끝나면 토큰 키 삭제 + in-flight 해제
+ * ㄴ 중간에 Pod가 죽으면 토큰 키가 남아 있으므로, 다음 실행에서 일정 시간 이상 갱신되지 않은 키를 회수하여 이어서 처리
+ * ㄴ 커밋 후 Ack 전에 죽은 청크만 재반영될 수 있음 (최대 1청크, at-least-once)
+ * ㄴ 리더 임대(BatchLeaderLease)를 보유한 Pod만 실행하며, Drain/회수 스크립트에서 임대 값을 함께 확인하여 임대를 잃은 Pod의 처리를 차단
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PostBatchScheduler {
 
-    private final PostRepository postRepository;
+    private final PostStatsBatchRepository postStatsBatchRepository;
+    private final PostCountService postCountService;
+    private final PostTrendingService postTrendingService;
+    private final PostBookmarkBufferService postBookmarkBufferService;
     private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchLeaderLease leaderLease;
+    private final MeterRegistry meterRegistry;
+
+    // Lease (실행 주기 + 여유 시간. 리더가 죽으면 TTL 만료 후 다음 실행에서 다른 Pod가 인계)
+    private static final String SYNC_LEASE_NAME = "post-stats-sync";
+    private static final Duration SYNC_LEASE_TTL = Duration.ofSeconds(240);
+    private static final String RECONCILE_LEASE_NAME = "post-count-reconcile";
+    private static final Duration RECONCILE_LEASE_TTL = Duration.ofMinutes(12);
+    private static final String TRENDING_LEASE_NAME = "post-trending-rescale";
+    private static final Duration TRENDING_LEASE_TTL = Duration.ofMinutes(70);
+    private static final String BOOKMARK_WRITER_LEASE_NAME = "post-bookmark-writer";
+    private static final Duration BOOKMARK_WRITER_LEASE_TTL = Duration.ofSeconds(30);
 
     // Keys
     private static final String VIEW_BATCH_KEY = "post:views";
-    private static final String VIEW_SYNC_KEY = "post:views:sync";
-
     private static final String BOOKMARK_BATCH_KEY = "post:bookmarks:delta";
-    private static final String BOOKMARK_SYNC_KEY = "post:bookmarks:sync";
-
     private static final String COMMENT_BATCH_KEY = "post:comments:delta";
-    private static final String COMMENT_SYNC_KEY = "post:comments:sync";
+
+    // In-flight 관리 (ZSET "{batchKey}:inflight" - member: 토큰 키, score: 마지막 진행 시각)
+    private static final String INFLIGHT_SUFFIX = ":inflight";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long STALE_MILLIS = 5 * 60 * 1000L; // 5분 이상 진행이 없으면 중단된 것으로 간주
+
+    // KEYS[1]: 증분 Hash, KEYS[2]: 토큰 키, KEYS[3]: in-flight ZSET, KEYS[4]: 리더 임대 / ARGV[1]: 현재 시각, ARGV[2]: 임대 값
+    // ㄴ 반환: 1(Drain), 0(증분 없음), -1(임대 상실)
+    private static final RedisScript<Long> DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[4]) ~= ARGV[2] then return -1 end " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "redis.call('ZADD', KEYS[3], ARGV[1], KEYS[2]) " +
+            "return 1",
+            Long.class);
+
+    // 중단된 토큰 키 회수 (마지막 진행 시각이 기준보다 오래된 경우에만 현재 시각으로 갱신하여 선점)
+    // KEYS[1]: in-flight ZSET, KEYS[2]: 리더 임대 / ARGV[1]: 토큰 키, ARGV[2]: 기준 시각, ARGV[3]: 현재 시각, ARGV[4]: 임대 값
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[4] then return -1 end " +
+            "local s = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if s and tonumber(s) < tonumber(ARGV[2]) then " +
+            "  redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1]) " +
+            "  return 1 " +
+            "end " +
+            "return 0",
+            Long.class);
 
     @Scheduled(fixedRate = 180000, initialDelay = 30000) // 3분마다 실행 (Portfolio와 겹치지 않게 30초 딜레이)
-    @Transactional
     public void syncCounts() {
-        log.info("[Scheduler] 커뮤니티 통계 데이터 DB 동기화 시작");
+        Lease lease = acquireLease(SYNC_LEASE_NAME, SYNC_LEASE_TTL);
+        if (lease == null) {
+            return;
+        }
 
+        log.info("[Scheduler] 커뮤니티 통계 데이터 DB 동기화 시작 (fencingToken: {})", lease.getFencingToken());
+        String token = UUID.randomUUID().toString();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // 항목별로 독립 실행 (하나가 실패해도 나머지는 진행, 실패분은 다음 실행에서 회수)
+        processBatch(VIEW_BATCH_KEY, StatsColumn.VIEW_COUNT, token, lease);
+        processBatch(BOOKMARK_BATCH_KEY, StatsColumn.BOOKMARK_COUNT, token, lease);
+        processBatch(COMMENT_BATCH_KEY, StatsColumn.COMMENT_COUNT, token, lease);
+
+        sample.stop(meterRegistry.timer("batch.run.duration", "job", SYNC_LEASE_NAME));
+        leaderLease.tryAcquire(SYNC_LEASE_NAME, SYNC_LEASE_TTL); // 작업 종료 시점 기준으로 임대 연장
+        log.info("[Scheduler] 동기화 작업 완료");
+    }
+
+    // 목록 전체 개수 캐시 보정 (증감 누락/TTL 만료 등으로 벌어진 오차를 DB 기준으로 맞춤)
+    @Scheduled(fixedRate = 600000, initialDelay = 60000) // 10분마다 실행
+    public void reconcileFeedCounts() {
+        if (acquireLease(RECONCILE_LEASE_NAME, RECONCILE_LEASE_TTL) == null) {
+            return;
+        }
         try {
-            syncViewCounts();
-            syncBookmarkCounts();
-            syncCommentCounts();
+            postCountService.reconcileFeedCounts();
         } catch (Exception e) {
-            log.error("배치 동기화 중 예상치 못한 오류 발생", e);
+            log.error("게시글 카운트 보정 중 오류 발생", e);
         }
-
-        log.info("[Scheduler] 동기화 작업 완료");
     }
 
-    // 1. 조회수 동기화
-    private void syncViewCounts() {
-        processBatch(VIEW_BATCH_KEY, VIEW_SYNC_KEY, (postId, count) -> postRepository.incrementViewCount(postId, count));
+    // 인기 급상승 점수 환산 (Forward Decay 가중치가 계속 커지지 않도록 기준 시각 이동 + 하위 항목 정리)
+    @Scheduled(fixedRate = 3600000, initialDelay = 90000) // 1시간마다 실행
+    public void rescaleTrendingScores() {
+        if (acquireLease(TRENDING_LEASE_NAME, TRENDING_LEASE_TTL) == null) {
+            return;
+        }
+        try {
+            postTrendingService.rescale();
+        } catch (Exception e) {
+            log.error("인기 급상승 점수 환산 중 오류 발생", e);
+        }
     }
 
-    // 2. 북마크 수 동기화
-    private void syncBookmarkCounts() {
-        processBatch(BOOKMARK_BATCH_KEY, BOOKMARK_SYNC_KEY, (postId, delta) -> {
-            if (delta != 0) postRepository.updateBookmarkCount(postId, delta);
-        });
+    // Write-Behind 모드의 북마크 토글을 DB에 반영 (Stream 소비, 리더 1대만 실행)
+    @Scheduled(fixedDelay = 1000, initialDelay = 10000)
+    public void flushBookmarkBuffer() {
+        if (!postBookmarkBufferService.isEnabled()) {
+            return;
+        }
+        Lease lease = acquireLease(BOOKMARK_WRITER_LEASE_NAME, BOOKMARK_WRITER_LEASE_TTL);
+        if (lease == null) {
+            return;
+        }
+        try {
+            int applied = postBookmarkBufferService.flush(lease); // 읽기/Ack마다 임대 값을 확인하여 이전 리더와 겹쳐 반영하지 않음
+            if (applied > 0) {
+                meterRegistry.counter("batch.flush.rows", "job", BOOKMARK_WRITER_LEASE_NAME, "column", "POST_BOOKMARK").increment(applied);
+                log.debug("[Scheduler] 북마크 {}건 DB 반영", applied);
+            }
+        } catch (Exception e) {
+            meterRegistry.counter("batch.flush.failures", "job", BOOKMARK_WRITER_LEASE_NAME, "column", "POST_BOOKMARK").increment();
+            log.error("[Scheduler] 북마크 Write-Behind 반영 실패 (미처리 항목은 다음 실행에서 재처리)", e);
+        }
     }
 
-    // 3. 댓글 수 동기화
-    private void syncCommentCounts() {
-        processBatch(COMMENT_BATCH_KEY, COMMENT_SYNC_KEY, (postId, delta) -> {
-            if (delta != 0) postRepository.updateCommentCount(postId, delta);
-        });
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    // 리더 임대 획득 (실패 시 다른 Pod가 리더이므로 이번 실행은 건너뜀)
+    private Lease acquireLease(String name, Duration ttl) {
+        Lease lease = null;
+        try {
+            lease = leaderLease.tryAcquire(name, ttl);
+        } catch (Exception e) {
+            log.error("[Scheduler] 리더 임대 획득 실패 - {}", name, e);
+        }
+        meterRegistry.counter("batch.run", "job", name, "result", lease != null ? "leader" : "skipped").increment();
+        return lease;
     }
 
     // 공통 배치 처리 로직
-    private void processBatch(String batchKey, String syncKey, BatchUpdateAction action) {
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(batchKey))) {
-            redisTemplate.rename(batchKey, syncKey);
-            Map<Object, Object> entries = redisTemplate.opsForHash().entries(syncKey);
-
-            if (!entries.isEmpty()) {
-                for (Map.Entry<Object, Object> entry : entries.entrySet()) {
-                    try {
-                        Long postId = Long.parseLong((String) entry.getKey());
-                        Long value = Long.parseLong((String) entry.getValue());
-                        action.update(postId, value); // DB 업데이트 수행
-                    } catch (Exception e) {
-                        log.error("배치 처리 실패 - Key: {}, PostId: {}", batchKey, entry.getKey(), e);
-                    }
+    private void processBatch(String batchKey, StatsColumn column, String token, Lease lease) {
+        String inflightKey = batchKey + INFLIGHT_SUFFIX;
+        try {
+            // 1. 이전 실행이 남긴 미처리분 회수
+            recoverStale(inflightKey, column, lease);
+
+            // 2. 이번 주기 증분 Drain
+            String pendingKey = inflightKey + ":" + token;
+            Long drained = redisTemplate.execute(DRAIN_SCRIPT, Arrays.asList(batchKey, pendingKey, inflightKey, lease.getKey()),
+                    String.valueOf(System.currentTimeMillis()), lease.getValue());
+
+            if (Long.valueOf(1L).equals(drained)) {
+                flush(pendingKey, inflightKey, column);
+            } else if (Long.valueOf(-1L).equals(drained)) {
+                log.warn("[Scheduler] 리더 임대 상실로 Drain 중단 - Key: {}, fencingToken: {}", batchKey, lease.getFencingToken());
+            }
+        } catch (Exception e) {
+            meterRegistry.counter("batch.flush.failures", "job", SYNC_LEASE_NAME, "column", column.name()).increment();
+            log.error("배치 동기화 실패 - Key: {} (미처리분은 다음 실행에서 회수)", batchKey, e);
+        }
+    }
+
+    private void recoverStale(String inflightKey, StatsColumn column, Lease lease) {
+        long now = System.currentTimeMillis();
+        long threshold = now - STALE_MILLIS;
+        Set<String> staleKeys = redisTemplate.opsForZSet().rangeByScore(inflightKey, 0, threshold);
+        if (staleKeys == null || staleKeys.isEmpty()) {
+            return;
+        }
+
+        for (String pendingKey : staleKeys) {
+            Long claimed = redisTemplate.execute(CLAIM_SCRIPT, Arrays.asList(inflightKey, lease.getKey()),
+                    pendingKey, String.valueOf(threshold), String.valueOf(now), lease.getValue());
+            if (Long.valueOf(1L).equals(claimed)) {
+                log.warn("[Scheduler] 중단된 배치 회수 - {}", pendingKey);
+                flush(pendingKey, inflightKey, column);
+            }
+        }
+    }
+
+    // 토큰 키의 증분을 청크 단위로 DB 반영 후 Ack
+    private void flush(String pendingKey, String inflightKey, StatsColumn column) {
+        Set<String> seen = new HashSet<>(); // HSCAN은 같은 필드를 중복 반환할 수 있으므로 실행 내 중복 제거
+        List<String> fields = new ArrayList<>(CHUNK_SIZE);
+        List<long[]> deltas = new ArrayList<>(CHUNK_SIZE);
+        int total = 0;
+
+        ScanOptions options = ScanOptions.scanOptions().count(CHUNK_SIZE).build();
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(pendingKey, options)) {
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                String field = (String) entry.getKey();
+                if (!seen.add(field)) continue;
+
+                fields.add(field);
+                try {
+                    long delta = Long.parseLong((String) entry.getValue());
+                    if (delta != 0) deltas.add(new long[]{Long.parseLong(field), delta});
+                } catch (NumberFormatException e) {
+                    log.error("배치 처리 실패 - 잘못된 값. Key: {}, PostId: {}", pendingKey, field); // 재시도해도 실패하므로 Ack 처리
+                }
+
+                if (fields.size() >= CHUNK_SIZE) {
+                    total += applyChunk(pendingKey, inflightKey, column, fields, deltas);
                 }
             }
-            redisTemplate.delete(syncKey);
         }
+        total += applyChunk(pendingKey, inflightKey, column, fields, deltas);
+
+        redisTemplate.delete(pendingKey);
+        redisTemplate.opsForZSet().remove(inflightKey, pendingKey);
+        meterRegistry.counter("batch.flush.rows", "job", SYNC_LEASE_NAME, "column", column.name()).increment(total);
+        log.info("[Scheduler] {} 반영 완료 - {}건", column, total);
     }
 
-    // 함수형 인터페이스 (내부에서만 사용)
-    @FunctionalInterface
-    interface BatchUpdateAction {
-        void update(Long postId, Long value);
+    private int applyChunk(String pendingKey, String inflightKey, StatsColumn column,
+                           List<String> fields, List<long[]> deltas) {
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        int applied = deltas.size();
+
+        transactionTemplate.executeWithoutResult(status -> postStatsBatchRepository.addAll(column, deltas));
+
+        // 커밋 이후 Ack + 진행 시각 갱신 (다른 실행이 회수하지 않도록)
+        redisTemplate.opsForHash().delete(pendingKey, fields.toArray());
+        redisTemplate.opsForZSet().add(inflightKey, pendingKey, System.currentTimeMillis());
+
+        // 반영된 증분으로 인기 급상승 점수 갱신 (실패해도 DB 반영/Ack에는 영향 없음)
+        try {
+            postTrendingService.onStatsFlushed(column, deltas);
+        } catch (Exception e) {
+            log.warn("[Scheduler] 인기 급상승 점수 반영 실패 - {}", column, e);
+        }
+
+        fields.clear();
+        deltas.clear();
+        return applied;
     }
-}
\ No newline at end of file
+}
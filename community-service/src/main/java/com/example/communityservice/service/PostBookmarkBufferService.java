@@ -0,0 +1,146 @@
+package com.example.communityservice.service;
+
+import com.example.commonmodule.redis.ToggleMembershipIndex;
+import com.example.commonmodule.redis.ToggleWriteBehindBuffer;
+import com.example.communityservice.repository.PostBookmarkBatchRepository;
+import com.example.communityservice.repository.PostStatsBatchRepository;
+import com.example.communityservice.repository.PostStatsBatchRepository.StatsColumn;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 북마크 Write-Behind 버퍼 (app.write-behind.enabled=true 일 때 사용)
+ * ㄴ 토글 시 MySQL에 바로 쓰지 않고, 사용자별 북마크 Set + Redis Stream에만 기록한다. (Lua 1회, DB 커넥션 X)
+ * ㄴ 스케줄러(리더 1대)가 Stream을 읽어 같은 (사용자, 게시글)의 상반된 토글을 최종 상태로 합친 뒤 JDBC 배치로 반영한다. (ToggleWriteBehindBuffer)
+ * ㄴ 게시글 북마크 수는 post:bookmarks:delta를 거치지 않고, 반영 시 실제로 추가/삭제된 행 기준으로 같은 트랜잭션에서 증감한다.
+ * ㄴ 북마크 여부는 사용자별 Set(PostBookmarkMembershipService)에서 조회하므로 DB 반영 전에도 본인 화면에는 즉시 반영된다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "post:bookmarks:stream" (STREAM - u: userId, p: postId, d: +1/-1, c: 실시간 통계에 더한 값 (post:stats Hash가 없었으면 0))
+ * ㄴ 2) "post:bookmarks:user:{userId}:pending" (STRING - 미반영 토글 수, ToggleMembershipIndex 참고)
+ */
+@Service
+@Slf4j
+public class PostBookmarkBufferService extends ToggleWriteBehindBuffer {
+
+    private final PostBookmarkMembershipService postBookmarkMembershipService;
+    private final PostBookmarkBatchRepository postBookmarkBatchRepository;
+    private final PostStatsBatchRepository postStatsBatchRepository;
+    private final PostCountService postCountService;
+    private final PostTrendingService postTrendingService;
+
+    @Value("${app.write-behind.enabled:false}")
+    private boolean enabled;
+
+    private static final String STREAM_KEY = "post:bookmarks:stream";
+    private static final String CONSUMER_GROUP = "post-bookmark-writer";
+    private static final String POST_STATS_KEY_PREFIX = "post:stats:";
+
+    // 북마크 토글 (Set 변경 + 실시간 통계 증감 + Stream 기록 + 미반영 토글 수 증가를 원자적으로 처리)
+    // ㄴ KEYS[1]: 사용자 Set, KEYS[2]: Stream, KEYS[3]: post:stats:{id}, KEYS[4]: 미반영 토글 수
+    // ㄴ ARGV[1]: postId, ARGV[2]: userId, ARGV[3]: Set TTL
+    // ㄴ 반환: 1(등록), -1(취소), 0(Set 미로드 - 호출 측에서 DB 로드 후 재시도)
+    // ㄴ 통계 Hash가 없어 증감하지 않았으면 c=0으로 기록 (flush 시 실제로 더한 값만큼만 보정)
+    private static final RedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local d = 1 " +
+            "if redis.call('SREM', KEYS[1], ARGV[1]) == 1 then d = -1 " +
+            "else redis.call('SADD', KEYS[1], ARGV[1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "local c = 0 " +
+            "if redis.call('HEXISTS', KEYS[3], 'bookmarkCount') == 1 then " +
+            "  redis.call('HINCRBY', KEYS[3], 'bookmarkCount', d) " +
+            "  c = d " +
+            "end " +
+            "redis.call('XADD', KEYS[2], '*', 'u', ARGV[2], 'p', ARGV[1], 'd', d, 'c', c) " +
+            "redis.call('INCR', KEYS[4]) " +
+            "redis.call('EXPIRE', KEYS[4], ARGV[3]) " +
+            "return d",
+            Long.class);
+
+    public PostBookmarkBufferService(PostBookmarkMembershipService postBookmarkMembershipService,
+                                     PostBookmarkBatchRepository postBookmarkBatchRepository,
+                                     PostStatsBatchRepository postStatsBatchRepository,
+                                     PostCountService postCountService,
+                                     PostTrendingService postTrendingService,
+                                     StringRedisTemplate redisTemplate,
+                                     TransactionTemplate transactionTemplate) {
+        super(redisTemplate, transactionTemplate, postBookmarkMembershipService, STREAM_KEY, CONSUMER_GROUP, POST_STATS_KEY_PREFIX, "bookmarkCount");
+        this.postBookmarkMembershipService = postBookmarkMembershipService;
+        this.postBookmarkBatchRepository = postBookmarkBatchRepository;
+        this.postStatsBatchRepository = postStatsBatchRepository;
+        this.postCountService = postCountService;
+        this.postTrendingService = postTrendingService;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * 북마크 토글을 버퍼에 기록
+     * @return 1(등록), -1(취소)
+     */
+    public long toggle(Long userId, Long postId) {
+        Long result = executeToggle(userId, postId);
+        if (result == null || result == 0) {
+            postBookmarkMembershipService.ensureLoaded(userId);
+            result = executeToggle(userId, postId);
+        }
+        postBookmarkMembershipService.invalidate(userId);
+        return result != null ? result : 0L;
+    }
+
+    //===================//
+    //== DB 반영 (Flush) ==//
+    //===================//
+
+    @Override
+    protected Set<String> findExisting(List<long[]> pairs) {
+        Set<String> existing = new HashSet<>();
+        for (long[] row : postBookmarkBatchRepository.findExisting(pairs)) {
+            existing.add(pairKey(row[0], row[1]));
+        }
+        return existing;
+    }
+
+    @Override
+    protected void applyChanges(List<long[]> inserts, List<long[]> deletes, List<long[]> countDeltas) {
+        postBookmarkBatchRepository.insertAll(inserts);
+        postBookmarkBatchRepository.deleteAll(deletes);
+        postStatsBatchRepository.addAll(StatsColumn.BOOKMARK_COUNT, countDeltas);
+    }
+
+    // DB 반영 이후 "내 북마크" 개수 캐시 재계산 + 인기 급상승 점수 반영
+    @Override
+    protected void afterFlush(Set<Long> userIds, List<long[]> countDeltas) {
+        userIds.forEach(postCountService::onBookmarkToggled);
+        try {
+            postTrendingService.onStatsFlushed(StatsColumn.BOOKMARK_COUNT, countDeltas);
+        } catch (Exception e) {
+            log.warn("[PostBookmarkBuffer] 인기 급상승 점수 반영 실패", e);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private Long executeToggle(Long userId, Long postId) {
+        return redisTemplate.execute(TOGGLE_SCRIPT,
+                Arrays.asList(postBookmarkMembershipService.setKey(userId), STREAM_KEY, POST_STATS_KEY_PREFIX + postId,
+                        postBookmarkMembershipService.pendingKey(userId)),
+                String.valueOf(postId), String.valueOf(userId), String.valueOf(ToggleMembershipIndex.SET_TTL_SECONDS));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.communityservice.service;
+
+import com.example.commonmodule.redis.ToggleMembershipIndex;
+import com.example.communityservice.repository.PostBookmarkRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 사용자별 북마크한 게시글 ID 집합 (L1: Bloom Filter, L2: Redis Set - ToggleMembershipIndex)
+ *
+ * [Key 규칙]
+ * ㄴ 1) "post:bookmarks:user:{userId}" (SET - 북마크한 postId 목록, 로드 완료 표시용 멤버 "0" 포함)
+ * ㄴ 2) "post:bookmarks:user:{userId}:ver" (STRING - 변경 버전)
+ */
+@Service
+public class PostBookmarkMembershipService extends ToggleMembershipIndex {
+
+    public static final String INVALIDATION_CHANNEL = "post:bookmarks:user:invalidate";
+
+    private final PostBookmarkRepository postBookmarkRepository;
+
+    private static final String USER_BOOKMARKS_KEY_PREFIX = "post:bookmarks:user:";
+
+    public PostBookmarkMembershipService(PostBookmarkRepository postBookmarkRepository, StringRedisTemplate redisTemplate) {
+        super(redisTemplate, USER_BOOKMARKS_KEY_PREFIX, INVALIDATION_CHANNEL);
+        this.postBookmarkRepository = postBookmarkRepository;
+    }
+
+    public boolean isBookmarked(Long userId, Long postId) {
+        return contains(userId, postId);
+    }
+
+    // 목록 페이지의 게시글 중 북마크한 ID
+    public Set<Long> findBookmarkedIds(Long userId, Collection<Long> postIds) {
+        return findContained(userId, postIds);
+    }
+
+    @Override
+    protected List<Long> loadTargetIds(Long userId) {
+        return postBookmarkRepository.findAllPostIdsByUserId(userId);
+    }
+}
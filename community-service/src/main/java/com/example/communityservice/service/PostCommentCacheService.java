@@ -0,0 +1,156 @@
+package com.example.communityservice.service;
+
+import com.example.communityservice.dto.response.CommentResponse;
+import com.example.communityservice.dto.response.CursorPageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 게시글별 댓글 캐시
+ * ㄴ 1) 상세 조회용 댓글 트리: 게시글별 버전 번호를 필드로 저장하고, 댓글 변경 시 버전을 올려 이전 트리를 버린다.
+ * ㄴ 2) 커서 조회용 댓글 페이지: 루트 댓글 첫 페이지, 대댓글 첫 페이지만 캐싱 (이후 페이지는 Keyset 조회로 DB 직접 조회)
+ *       DB 조회 전에 읽은 버전이 그대로일 때만 저장하여, 무효화 이전에 읽은 페이지가 삭제 이후에 다시 캐싱되지 않게 한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "post:comments:ver:{postId}"          (댓글 버전, 변경 시 INCR)
+ * ㄴ 2) "post:comments:tree:{postId}"         field: {ver} (해당 버전의 댓글 트리 JSON, 상세 조회 스크립트의 KEYS로 선언 가능하도록 버전을 키가 아닌 필드에 둠)
+ * ㄴ 3) "post:comments:page:{postId}"         field: root:{size} | reply:{parentId}:{size}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostCommentCacheService {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String COMMENT_VERSION_KEY_PREFIX = "post:comments:ver:";
+    private static final String COMMENT_TREE_KEY_PREFIX = "post:comments:tree:";
+    private static final String COMMENT_PAGE_KEY_PREFIX = "post:comments:page:";
+    private static final long TTL_MINUTES = 10;
+    private static final long VERSION_TTL_DAYS = 7; // 트리 TTL보다 충분히 길면 만료 후 버전이 초기화되어도 옛 트리와 겹치지 않음
+
+    // DB 조회 전에 읽은 버전이 그대로일 때만 페이지 저장 (조회 도중 댓글이 변경되었으면 옛 페이지이므로 버림)
+    // ㄴ KEYS[1]: 댓글 버전, KEYS[2]: 페이지 Hash / ARGV[1]: 읽은 버전, ARGV[2]: field, ARGV[3]: 페이지 JSON, ARGV[4]: TTL(초)
+    private static final RedisScript<Long> PAGE_PUT_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('HSET', KEYS[2], ARGV[2], ARGV[3]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[4]) " +
+            "return 1",
+            Long.class);
+
+    private static final TypeReference<CursorPageResponse<CommentResponse>> PAGE_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<CommentResponse>> TREE_TYPE = new TypeReference<>() {};
+
+    public static String versionKey(Long postId) {
+        return COMMENT_VERSION_KEY_PREFIX + postId;
+    }
+
+    public static String treeKey(Long postId) {
+        return COMMENT_TREE_KEY_PREFIX + postId;
+    }
+
+    /**
+     * 상세 조회용 댓글 트리 복원
+     * ㄴ version/cachedJson은 호출 측에서 상세 조회 Lua 스크립트로 함께 읽어 전달 (추가 Redis 왕복 없음)
+     * ㄴ Miss 시 DB 조회 결과를 "읽었던 버전" 필드에 저장하므로, 그 사이 댓글이 변경되어 버전이 올라갔다면 이 트리는 다시 읽히지 않음
+     */
+    public List<CommentResponse> resolveTree(Long postId, String version, String cachedJson,
+                                             Supplier<List<CommentResponse>> loader) {
+        if (StringUtils.hasText(cachedJson)) {
+            try {
+                return objectMapper.readValue(cachedJson, TREE_TYPE);
+            } catch (JsonProcessingException e) {
+                log.error("[PostCommentCache] JSON Parsing Error. PostId: {}, Version: {}", postId, version, e);
+            }
+        }
+
+        // Cache Miss -> DB 조회
+        List<CommentResponse> tree = loader.get();
+        String treeKey = treeKey(postId);
+        try {
+            redisTemplate.opsForHash().put(treeKey, StringUtils.hasText(version) ? version : "0", objectMapper.writeValueAsString(tree));
+            redisTemplate.expire(treeKey, TTL_MINUTES, TimeUnit.MINUTES);
+        } catch (JsonProcessingException e) {
+            log.error("[PostCommentCache] Redis Set Error. Key: {}", treeKey, e);
+        }
+        return tree;
+    }
+
+    /**
+     * 캐시된 댓글 페이지 조회 (첫 페이지만 캐싱, Miss 시 loader로 DB 조회 후 캐싱)
+     */
+    public CursorPageResponse<CommentResponse> getOrLoad(Long postId, Long parentId, String cursor, int size,
+                                                         Supplier<CursorPageResponse<CommentResponse>> loader) {
+        if (StringUtils.hasText(cursor)) {
+            return loader.get();
+        }
+
+        String cacheKey = COMMENT_PAGE_KEY_PREFIX + postId;
+        String field = (parentId == null ? "root" : "reply:" + parentId) + ":" + size;
+
+        Object cachedJson = redisTemplate.opsForHash().get(cacheKey, field);
+        if (cachedJson != null) {
+            try {
+                return objectMapper.readValue(cachedJson.toString(), PAGE_TYPE);
+            } catch (JsonProcessingException e) {
+                log.error("[PostCommentCache] JSON Parsing Error. Key: {}, Field: {}", cacheKey, field, e);
+            }
+        }
+
+        // Cache Miss -> DB 조회 (버전은 DB 조회 전에 읽어야 조회 도중의 변경을 감지할 수 있음)
+        String version = redisTemplate.opsForValue().get(versionKey(postId));
+        CursorPageResponse<CommentResponse> page = loader.get();
+        try {
+            redisTemplate.execute(PAGE_PUT_SCRIPT, Arrays.asList(versionKey(postId), cacheKey),
+                    version != null ? version : "0", field, objectMapper.writeValueAsString(page),
+                    String.valueOf(TimeUnit.MINUTES.toSeconds(TTL_MINUTES)));
+        } catch (JsonProcessingException e) {
+            log.error("[PostCommentCache] Redis Set Error. Key: {}", cacheKey, e);
+        }
+        return page;
+    }
+
+    /**
+     * 게시글의 댓글 캐시 전체 무효화 (트리 버전 증가 + 페이지 캐시 삭제)
+     * ㄴ 트랜잭션 안에서 호출되면 커밋 이후에 수행 (커밋 전에 버전을 올리면 다른 요청이 옛 데이터를 새 버전으로 캐싱할 수 있음)
+     */
+    public void evict(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(postId);
+                }
+            });
+        } else {
+            evictNow(postId);
+        }
+    }
+
+    private void evictNow(Long postId) {
+        try {
+            // INCR은 원자적이므로 동시에 여러 댓글이 변경되어도 버전이 유실되지 않음
+            redisTemplate.opsForValue().increment(versionKey(postId));
+            redisTemplate.expire(versionKey(postId), VERSION_TTL_DAYS, TimeUnit.DAYS);
+            redisTemplate.delete(List.of(treeKey(postId), COMMENT_PAGE_KEY_PREFIX + postId)); // 이전 버전 트리 필드가 쌓이지 않도록 함께 삭제
+        } catch (Exception e) {
+            log.error("[PostCommentCache] Redis 무효화 실패. PostId: {}", postId, e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.communityservice.service;
+
+import com.example.communityservice.entity.enumerate.PostCategory;
+import com.example.communityservice.repository.PostRepository;
+import com.querydsl.core.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 게시글 목록 전체 개수(totalElements) 캐시
+ * ㄴ 목록 조회마다 COUNT(*)를 수행하지 않고 Redis Hash에 보관한 카운터를 사용한다.
+ * ㄴ 카운터는 게시글 생성/삭제/채택 시 증감되고, PostBatchScheduler가 주기적으로 DB 기준으로 보정한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "post:count:feed"              field: {category|ALL}:{isSolved|ALL}
+ * ㄴ 2) "post:count:user:{userId}"     field: {category|ALL} (내가 쓴 글)
+ * ㄴ 3) "post:count:bookmark:{userId}" field: {category|ALL} (내가 북마크한 글)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostCountService {
+
+    private final PostRepository postRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String FEED_COUNT_KEY = "post:count:feed";
+    private static final String MY_POST_COUNT_KEY_PREFIX = "post:count:user:";
+    private static final String MY_BOOKMARK_COUNT_KEY_PREFIX = "post:count:bookmark:";
+
+    private static final String ALL = "ALL";
+    private static final long USER_COUNT_TTL_HOURS = 24; // 사용자별 카운터는 TTL 만료 시 재계산되는 것으로 보정
+
+    // 필드가 이미 존재할 때만 증감 (없는 필드를 HINCRBY 하면 0부터 시작하여 잘못된 값이 캐싱됨)
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "for i = 2, #ARGV do " +
+            "  if redis.call('HEXISTS', KEYS[1], ARGV[i]) == 1 then " +
+            "    redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[1]) " +
+            "  end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    public long getFeedCount(PostCategory category, Boolean isSolved) {
+        return getOrLoad(FEED_COUNT_KEY, feedField(category, isSolved),
+                () -> postRepository.countPosts(category, isSolved), false);
+    }
+
+    public long getMyPostCount(Long userId, PostCategory category) {
+        return getOrLoad(MY_POST_COUNT_KEY_PREFIX + userId, categoryField(category),
+                () -> postRepository.countMyPosts(userId, category), true);
+    }
+
+    public long getMyBookmarkCount(Long userId, PostCategory category) {
+        return getOrLoad(MY_BOOKMARK_COUNT_KEY_PREFIX + userId, categoryField(category),
+                () -> postRepository.countMyBookmarkedPosts(userId, category), true);
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    // 갱신 메서드는 트랜잭션 안에서 호출되면 커밋 이후에 반영 (롤백 시 카운터가 어긋나지 않도록)
+
+    public void onPostCreated(Long userId, PostCategory category, boolean isSolved) {
+        afterCommit(() -> {
+            incrementIfExists(FEED_COUNT_KEY, 1L, feedFields(category, isSolved));
+            incrementIfExists(MY_POST_COUNT_KEY_PREFIX + userId, 1L, ALL, category.name());
+        });
+    }
+
+    public void onPostDeleted(Long userId, PostCategory category, boolean isSolved) {
+        afterCommit(() -> {
+            incrementIfExists(FEED_COUNT_KEY, -1L, feedFields(category, isSolved));
+            incrementIfExists(MY_POST_COUNT_KEY_PREFIX + userId, -1L, ALL, category.name());
+        });
+    }
+
+    // 미해결 -> 해결 전환 (QnA 채택)
+    public void onPostSolved(PostCategory category) {
+        afterCommit(() -> {
+            incrementIfExists(FEED_COUNT_KEY, -1L, feedField(null, false), feedField(category, false));
+            incrementIfExists(FEED_COUNT_KEY, 1L, feedField(null, true), feedField(category, true));
+        });
+    }
+
+    // 북마크 토글 시에는 게시글 카테고리를 알기 위해 추가 조회가 필요하므로, 카운터를 증감하지 않고 삭제 후 다음 조회 시 재계산
+    // ㄴ 커밋 전에 삭제하면 동시 조회가 커밋 전 개수로 다시 채울 수 있으므로 커밋 이후 삭제
+    public void onBookmarkToggled(Long userId) {
+        afterCommit(() -> redisTemplate.delete(MY_BOOKMARK_COUNT_KEY_PREFIX + userId));
+    }
+
+    /**
+     * 피드 카운터 전체를 DB 집계 결과로 덮어쓰기 (스케줄러에서 주기적으로 호출)
+     * ㄴ GROUP BY 한 번으로 모든 (category, isSolved) 조합을 계산
+     */
+    public void reconcileFeedCounts() {
+        Map<String, Long> counts = new HashMap<>();
+
+        // 존재하지 않는 조합도 0으로 채워서 "캐시 미스 -> COUNT 쿼리"가 발생하지 않도록 함
+        for (String category : categoryFields()) {
+            counts.put(category + ":" + ALL, 0L);
+            counts.put(category + ":" + true, 0L);
+            counts.put(category + ":" + false, 0L);
+        }
+
+        for (Tuple row : postRepository.countGroupByCategoryAndSolved()) {
+            PostCategory category = row.get(0, PostCategory.class);
+            Boolean isSolved = row.get(1, Boolean.class);
+            Long count = row.get(2, Long.class);
+            if (category == null || isSolved == null || count == null) continue;
+
+            for (String field : feedFields(category, isSolved)) {
+                counts.merge(field, count, Long::sum);
+            }
+        }
+
+        Map<String, String> values = new HashMap<>();
+        counts.forEach((field, count) -> values.put(field, String.valueOf(count)));
+        redisTemplate.opsForHash().putAll(FEED_COUNT_KEY, values);
+
+        log.info("[PostCount] 피드 카운트 보정 완료. fields: {}", values.size());
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private long getOrLoad(String key, String field, LongSupplier loader, boolean expire) {
+        Object cached = redisTemplate.opsForHash().get(key, field);
+        if (cached != null) {
+            try {
+                return Math.max(0L, Long.parseLong(cached.toString()));
+            } catch (NumberFormatException e) {
+                log.warn("[PostCount] 잘못된 카운트 값. Key: {}, Field: {}", key, field);
+            }
+        }
+
+        // Cache Miss -> DB COUNT 후 캐싱 (동시에 다른 요청이 채웠다면 그 값을 존중)
+        long count = loader.getAsLong();
+        redisTemplate.opsForHash().putIfAbsent(key, field, String.valueOf(count));
+        if (expire) {
+            redisTemplate.expire(key, USER_COUNT_TTL_HOURS, TimeUnit.HOURS);
+        }
+        return count;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runSafely(action);
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 커밋 이후 실패는 호출 측 트랜잭션에 영향을 주지 않도록 로그만 남김 (스케줄러 보정에서 복구)
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.error("[PostCount] 카운터 갱신 실패", e);
+        }
+    }
+
+    private void incrementIfExists(String key, long delta, String... fields) {
+        List<String> args = new ArrayList<>(fields.length + 1);
+        args.add(String.valueOf(delta));
+        args.addAll(Arrays.asList(fields));
+        redisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT, Collections.singletonList(key), args.toArray());
+    }
+
+    // 하나의 게시글이 포함되는 피드 필터 조합 4가지
+    private String[] feedFields(PostCategory category, boolean isSolved) {
+        return new String[]{
+                feedField(null, null),
+                feedField(category, null),
+                feedField(null, isSolved),
+                feedField(category, isSolved)
+        };
+    }
+
+    private String feedField(PostCategory category, Boolean isSolved) {
+        return categoryField(category) + ":" + (isSolved != null ? isSolved.toString() : ALL);
+    }
+
+    private String categoryField(PostCategory category) {
+        return category != null ? category.name() : ALL;
+    }
+
+    private List<String> categoryFields() {
+        List<String> fields = new ArrayList<>();
+        fields.add(ALL);
+        for (PostCategory category : PostCategory.values()) {
+            fields.add(category.name());
+        }
+        return fields;
+    }
+}
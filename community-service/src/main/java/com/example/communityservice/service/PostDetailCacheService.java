@@ -0,0 +1,130 @@
+package com.example.communityservice.service;
+
+import com.example.communityservice.dto.response.PostDetailResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 상세 본문 2단계 캐시 (L1: Caffeine, L2: Redis "post:info:{id}")
+ * ㄴ 인기 게시글은 Redis 왕복 + JSON 역직렬화 비용까지 없애기 위해 Pod 메모리에 한 번 더 보관한다.
+ * ㄴ 무효화 시 Redis 키를 삭제하고 Pub/Sub 채널로 postId를 발행하여 모든 Pod의 L1을 함께 비운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostDetailCacheService {
+
+    public static final String INVALIDATION_CHANNEL = "post:info:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String POST_INFO_KEY_PREFIX = "post:info:";
+
+    public static String cacheKey(Long postId) {
+        return POST_INFO_KEY_PREFIX + postId;
+    }
+
+    // Pub/Sub 메시지 유실 대비 안전장치로 TTL을 짧게 둠
+    private final Cache<Long, PostDetailResponse> localCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
+    /**
+     * L1(In-Process) 조회
+     * ㄴ 반환 객체는 매번 복사본이므로 호출 측에서 댓글/통계/북마크 값을 덮어써도 캐시가 오염되지 않음
+     */
+    public PostDetailResponse getLocal(Long postId) {
+        PostDetailResponse cached = localCache.getIfPresent(postId);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * L2(Redis) 조회 결과로 본문 복원 (L1 Miss 이후 호출)
+     * ㄴ Redis 값은 호출 측에서 통계 조회와 같은 왕복으로 미리 읽어 전달하고, 값이 없으면 DB 조회 후 캐싱
+     */
+    public PostDetailResponse resolve(Long postId, String cachedJson, Supplier<PostDetailResponse> dbLoader) {
+        if (StringUtils.hasText(cachedJson)) {
+            try {
+                PostDetailResponse response = objectMapper.readValue(cachedJson, PostDetailResponse.class);
+                localCache.put(postId, response);
+                return copyOf(response);
+            } catch (JsonProcessingException e) {
+                log.error("JSON Parsing Error", e);
+            }
+        }
+
+        // Cache Miss -> DB 조회
+        PostDetailResponse response = dbLoader.get();
+        response.setComments(new ArrayList<>());
+
+        try {
+            redisTemplate.opsForValue().set(cacheKey(postId), objectMapper.writeValueAsString(response), 1, TimeUnit.HOURS);
+        } catch (JsonProcessingException e) {
+            log.error("Redis Set Error", e);
+        }
+        localCache.put(postId, response);
+        return copyOf(response);
+    }
+
+    /**
+     * 상세 캐시 무효화 (Redis 삭제 + 전체 Pod L1 무효화 브로드캐스트)
+     * ㄴ 트랜잭션 안에서 호출되면 커밋 이후에 삭제 (커밋 전 삭제 시 다른 요청이 옛 데이터를 다시 캐싱할 수 있음)
+     */
+    public void evict(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(postId);
+                }
+            });
+        } else {
+            evictNow(postId);
+        }
+    }
+
+    // RedisConfig의 MessageListenerAdapter가 호출 (다른 Pod에서 발행한 무효화 메시지 수신)
+    public void handleInvalidation(String message) {
+        try {
+            localCache.invalidate(Long.parseLong(message));
+        } catch (NumberFormatException e) {
+            log.warn("[PostDetailCache] 잘못된 무효화 메시지: {}", message);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private PostDetailResponse copyOf(PostDetailResponse source) {
+        return source.toBuilder()
+                .comments(new ArrayList<>())
+                .build();
+    }
+
+    private void evictNow(Long postId) {
+        localCache.invalidate(postId);
+        try {
+            redisTemplate.delete(cacheKey(postId));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(postId));
+        } catch (Exception e) {
+            log.error("[PostDetailCache] 무효화 실패. PostId: {}", postId, e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.communityservice.service;
+
+import com.example.communityservice.dto.response.PostResponse;
+import com.example.communityservice.entity.enumerate.PostCategory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 목록(피드) 앞쪽 페이지 공용 캐시 (L1: Caffeine, L2: Redis)
+ * ㄴ 목록 쿼리는 조회자와 무관하므로(북마크 여부는 서비스에서 병합) 모든 사용자가 같은 캐시를 공유한다.
+ * ㄴ 대부분의 방문자가 읽는 앞쪽 몇 페이지만 캐싱하고, 그 뒤 페이지는 DB로 바로 조회한다.
+ * ㄴ 무효화 시 카테고리별 세대 번호를 올리고, DB 조회 전에 읽은 세대와 같을 때만 저장하여 무효화 이전에 읽은 목록이 다시 캐싱되지 않게 한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "post:feed:{category|ALL}:{isSolved|ALL}:{page}:{size}" (목록 JSON)
+ * ㄴ 2) "post:feed:keys:{category|ALL}" (무효화용 인덱스 Set - 해당 카테고리로 만들어진 캐시 키 목록)
+ * ㄴ 3) "post:feed:gen:{category|ALL}"  (세대 번호, 무효화 시 INCR - 카테고리 수만큼만 생기므로 TTL 없음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostFeedCacheService {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String FEED_KEY_PREFIX = "post:feed:";
+    private static final String FEED_INDEX_KEY_PREFIX = "post:feed:keys:";
+    private static final String FEED_GENERATION_KEY_PREFIX = "post:feed:gen:";
+    private static final String ALL = "ALL";
+
+    private static final int MAX_CACHED_PAGE = 5;   // 0 ~ 4 페이지만 캐싱
+    private static final int MAX_CACHED_SIZE = 50;
+    private static final long REDIS_TTL_MINUTES = 10;
+
+    // DB 조회 전에 읽은 세대가 그대로일 때만 목록 저장 + 인덱스 등록 (조회 도중 무효화되었으면 옛 목록이므로 버림)
+    // ㄴ KEYS[1]: 세대 번호, KEYS[2]: 목록 키, KEYS[3]: 인덱스 Set / ARGV[1]: 읽은 세대, ARGV[2]: 목록 JSON, ARGV[3]: TTL(초)
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3]) " +
+            "redis.call('SADD', KEYS[3], KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[3], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // 다른 Pod에서 발생한 무효화는 L1 TTL(3초) 이내에 반영됨
+    private final Cache<String, FeedPage> localCache = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofSeconds(3))
+            .build();
+
+    /**
+     * 캐시된 목록 조회 (Miss 시 loader로 DB 조회 후 캐싱)
+     * ㄴ 반환되는 PostResponse는 요청마다 새로 복사한 객체이므로 호출 측에서 북마크 여부 등을 덮어써도 캐시가 오염되지 않음
+     */
+    public Page<PostResponse> getOrLoad(PostCategory category, Boolean isSolved, Pageable pageable,
+                                        Supplier<Page<PostResponse>> loader) {
+        if (pageable.getPageNumber() >= MAX_CACHED_PAGE || pageable.getPageSize() > MAX_CACHED_SIZE) {
+            return loader.get();
+        }
+
+        String cacheKey = feedKey(category, isSolved, pageable);
+
+        // 1. L1 (In-Process)
+        FeedPage cached = localCache.getIfPresent(cacheKey);
+
+        // 2. L2 (Redis)
+        if (cached == null) {
+            cached = readFromRedis(cacheKey);
+            if (cached != null) {
+                localCache.put(cacheKey, cached);
+            }
+        }
+
+        if (cached != null) {
+            return toPage(cached, pageable);
+        }
+
+        // 3. Cache Miss -> DB (세대 번호는 DB 조회 전에 읽어야 조회 도중의 무효화를 감지할 수 있음)
+        String generation = redisTemplate.opsForValue().get(generationKey(category));
+        Page<PostResponse> page = loader.get();
+        FeedPage feedPage = new FeedPage(page.getContent().stream().map(p -> p.toBuilder().build()).toList(), page.getTotalElements());
+        if (writeToRedis(cacheKey, category, generation, feedPage)) {
+            localCache.put(cacheKey, feedPage);
+        }
+
+        return page;
+    }
+
+    /**
+     * 해당 카테고리 + 전체(ALL) 목록 캐시 무효화
+     * ㄴ 트랜잭션 안에서 호출되면 커밋 이후에 삭제 (커밋 전 삭제 시 다른 요청이 옛 데이터를 다시 캐싱할 수 있음)
+     */
+    public void evict(PostCategory category) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(category);
+                }
+            });
+        } else {
+            evictNow(category);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private void evictNow(PostCategory category) {
+        try {
+            // 세대를 먼저 올려, 삭제 이후에 끝나는 이전 조회가 옛 목록을 다시 저장하지 못하게 함
+            redisTemplate.opsForValue().increment(generationKey(null));
+            evictIndex(FEED_INDEX_KEY_PREFIX + ALL);
+            if (category != null) {
+                redisTemplate.opsForValue().increment(generationKey(category));
+                evictIndex(FEED_INDEX_KEY_PREFIX + category.name());
+            }
+        } catch (Exception e) {
+            log.error("[PostFeedCache] Redis 무효화 실패. Category: {}", category, e);
+        }
+        localCache.invalidateAll();
+    }
+
+    private void evictIndex(String indexKey) {
+        Set<String> keys = redisTemplate.opsForSet().members(indexKey);
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        redisTemplate.delete(indexKey);
+    }
+
+    private FeedPage readFromRedis(String cacheKey) {
+        String cachedJson = redisTemplate.opsForValue().get(cacheKey);
+        if (!StringUtils.hasText(cachedJson)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(cachedJson, FeedPage.class);
+        } catch (JsonProcessingException e) {
+            log.error("[PostFeedCache] JSON Parsing Error. Key: {}", cacheKey, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return 저장했으면 true (조회 도중 무효화되어 버렸으면 false)
+     */
+    private boolean writeToRedis(String cacheKey, PostCategory category, String generation, FeedPage feedPage) {
+        try {
+            // 카테고리 전용 목록은 해당 카테고리 인덱스에, 전체 목록은 ALL 인덱스에 등록
+            String indexKey = FEED_INDEX_KEY_PREFIX + (category != null ? category.name() : ALL);
+            Long stored = redisTemplate.execute(PUT_SCRIPT, Arrays.asList(generationKey(category), cacheKey, indexKey),
+                    generation != null ? generation : "0",
+                    objectMapper.writeValueAsString(feedPage),
+                    String.valueOf(TimeUnit.MINUTES.toSeconds(REDIS_TTL_MINUTES)));
+            return stored != null && stored == 1;
+        } catch (JsonProcessingException e) {
+            log.error("[PostFeedCache] Redis Set Error. Key: {}", cacheKey, e);
+            return false;
+        }
+    }
+
+    private String generationKey(PostCategory category) {
+        return FEED_GENERATION_KEY_PREFIX + (category != null ? category.name() : ALL);
+    }
+
+    private Page<PostResponse> toPage(FeedPage cached, Pageable pageable) {
+        List<PostResponse> content = cached.getContent().stream()
+                .map(p -> p.toBuilder().build())
+                .toList();
+        return new PageImpl<>(content, pageable, cached.getTotalElements());
+    }
+
+    private String feedKey(PostCategory category, Boolean isSolved, Pageable pageable) {
+        return FEED_KEY_PREFIX
+                + (category != null ? category.name() : ALL) + ":"
+                + (isSolved != null ? isSolved.toString() : ALL) + ":"
+                + pageable.getPageNumber() + ":" + pageable.getPageSize();
+    }
+
+    // Redis/L1에 저장되는 목록 스냅샷
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class FeedPage {
+        private List<PostResponse> content;
+        private long totalElements;
+    }
+}
@@ -12,19 +12,22 @@ import com.example.communityservice.entity.enumerate.RecruitmentStatus;
 import com.example.communityservice.repository.PostBookmarkRepository;
 import com.example.communityservice.repository.PostCommentRepository;
 import com.example.communityservice.repository.PostRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.communityservice.util.PostCursor;
+import com.querydsl.core.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 import static com.example.communityservice.exception.ErrorCode.*;
 
@@ -37,13 +40,19 @@ public class PostService {
     private final PostCommentRepository commentRepository;
     private final PostBookmarkRepository postBookmarkRepository;
     private final ChatServiceClient chatServiceClient;
+    private final PostCountService postCountService;
+    private final PostFeedCacheService postFeedCacheService;
+    private final PostDetailCacheService postDetailCacheService;
+    private final PostCommentCacheService postCommentCacheService;
+    private final PostTrendingService postTrendingService;
+    private final PostBookmarkBufferService postBookmarkBufferService;
+    private final PostBookmarkMembershipService postBookmarkMembershipService;
+    private final TransactionTemplate transactionTemplate;
 
     // Redis & Utils
     private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
 
     // Redis Keys
-    private static final String POST_INFO_KEY_PREFIX = "post:info:";
     private static final String POST_STATS_KEY_PREFIX = "post:stats:";
 
     // Batch Keys
@@ -51,6 +60,41 @@ public class PostService {
     private static final String BOOKMARK_BATCH_KEY = "post:bookmarks:delta";
     private static final String COMMENT_BATCH_KEY = "post:comments:delta";
 
+    // 상세 조회 시 필요한 Redis 작업(조회수 증가 + 본문 + 통계 + 댓글 트리)을 한 번의 왕복으로 처리
+    // ㄴ KEYS[1]: post:stats:{id}, KEYS[2]: post:views, KEYS[3]: post:info:{id}, KEYS[4]: post:comments:ver:{id}, KEYS[5]: post:comments:tree:{id}
+    // ㄴ ARGV[1]: postId, ARGV[2]: 본문 조회 여부 (L1 Hit 시 "0") / 댓글 트리는 KEYS[5]에서 현재 버전 필드를 조회
+    // ㄴ 통계 Hash가 비어있을 때 HINCRBY 하면 viewCount가 1부터 시작하므로, 필드가 있을 때만 증가시키고 없으면 호출 측에서 DB 값으로 초기화
+    private static final RedisScript<List> DETAIL_READ_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HINCRBY', KEYS[2], ARGV[1], 1) " +
+            "if redis.call('HEXISTS', KEYS[1], 'viewCount') == 1 then " +
+            "  redis.call('HINCRBY', KEYS[1], 'viewCount', 1) " +
+            "end " +
+            "local info = false " +
+            "if ARGV[2] == '1' then info = redis.call('GET', KEYS[3]) end " +
+            "local s = redis.call('HMGET', KEYS[1], 'viewCount', 'bookmarkCount', 'commentCount') " +
+            "local ver = redis.call('GET', KEYS[4]) or '0' " +
+            "local tree = redis.call('HGET', KEYS[5], ver) " +
+            "return {info, s[1], s[2], s[3], ver, tree}",
+            List.class);
+
+    // 통계 Hash 초기화 (HSETNX 3회를 한 번의 왕복으로 처리)
+    private static final RedisScript<Long> STATS_INIT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HSETNX', KEYS[1], 'viewCount', ARGV[1]) " +
+            "redis.call('HSETNX', KEYS[1], 'bookmarkCount', ARGV[2]) " +
+            "redis.call('HSETNX', KEYS[1], 'commentCount', ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // 북마크 증감 반영 (실시간 통계는 필드가 있을 때만 증감, 없으면 다음 상세 조회 시 DB 값으로 초기화됨)
+    // ㄴ KEYS[1]: post:stats:{id}, KEYS[2]: post:bookmarks:delta / ARGV[1]: postId, ARGV[2]: 증감값
+    private static final RedisScript<Long> BOOKMARK_DELTA_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'bookmarkCount') == 1 then " +
+            "  redis.call('HINCRBY', KEYS[1], 'bookmarkCount', ARGV[2]) " +
+            "end " +
+            "redis.call('HINCRBY', KEYS[2], ARGV[1], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
     // 1. 게시글 생성
     @Transactional
     public Long createPost(Long userId, PostCreateRequest request) {
@@ -60,7 +104,11 @@ public class PostService {
                 .title(request.getTitle())
                 .content(request.getContent())
                 .build();
-        return postRepository.save(post).getId();
+        Long postId = postRepository.save(post).getId();
+
+        postCountService.onPostCreated(userId, post.getCategory(), post.isSolved());
+        postFeedCacheService.evict(post.getCategory());
+        return postId;
     }
 
     // 2. 게시글 수정
@@ -75,7 +123,8 @@ public class PostService {
 
         post.update(request.getTitle(), request.getContent());
         // 캐시 무효화 (DB 커밋 전/후 언제든 상관없으나, 트랜잭션 안에서 수행)
-        redisTemplate.delete(POST_INFO_KEY_PREFIX + postId);
+        postDetailCacheService.evict(postId);
+        postFeedCacheService.evict(post.getCategory());
     }
 
     // 3. 게시글 삭제
@@ -89,49 +138,124 @@ public class PostService {
         }
 
         postRepository.delete(post);
-        redisTemplate.delete(POST_INFO_KEY_PREFIX + postId);
+        postDetailCacheService.evict(postId);
+        postCommentCacheService.evict(postId);
+        postTrendingService.remove(postId, post.getCategory());
         redisTemplate.delete(POST_STATS_KEY_PREFIX + postId);
+        postCountService.onPostDeleted(userId, post.getCategory(), post.isSolved());
+        postFeedCacheService.evict(post.getCategory());
     }
 
     // 4. 게시글 목록 조회
-    @Transactional(readOnly = true)
+    // ㄴ 앞쪽 페이지는 공용 캐시(L1/L2)에서 응답하므로, 캐시 히트 시 DB 커넥션을 잡지 않도록 트랜잭션을 걸지 않음
     public Page<PostResponse> getPosts(Long userId, PostCategory category, Boolean isSolved, Pageable pageable) {
-        return postRepository.searchPosts(userId, category, isSolved, pageable);
+        Page<PostResponse> page = postFeedCacheService.getOrLoad(category, isSolved, pageable, () -> {
+            List<PostResponse> content = postRepository.searchPosts(category, isSolved, pageable);
+            // 전체 개수는 COUNT 쿼리 대신 캐시된 카운터 사용 (마지막 페이지 등 content만으로 계산 가능하면 조회 생략)
+            return PageableExecutionUtils.getPage(content, pageable, () -> postCountService.getFeedCount(category, isSolved));
+        });
+
+        // 개인화 정보(북마크 여부)는 캐시 이후에 덮어씀
+        applyBookmarkFlags(userId, page.getContent());
+        return page;
+    }
+
+    // 4-1. 게시글 목록 조회 (커서 기반 무한 스크롤)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostResponse> getPostsByCursor(Long userId, PostCategory category, Boolean isSolved, String cursor, int size) {
+        PostCursor decoded = PostCursor.decode(cursor);
+        LocalDateTime cursorCreatedAt = decoded != null ? decoded.getCreatedAt() : null;
+        Long cursorId = decoded != null ? decoded.getId() : null;
+
+        // size + 1건을 조회해서 다음 페이지 존재 여부 판단
+        List<PostResponse> content = new ArrayList<>(
+                postRepository.searchPostsByCursor(category, isSolved, cursorCreatedAt, cursorId, size + 1));
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content.remove(size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostResponse last = content.get(content.size() - 1);
+            nextCursor = PostCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        applyBookmarkFlags(userId, content);
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor);
+    }
+
+    // 4-2. 인기 급상승 게시글 조회 (ZSET 상위 N개 + ID 목록 일괄 조회)
+    public List<PostResponse> getTrendingPosts(Long userId, PostCategory category, int size) {
+        List<Long> ids = postTrendingService.getTrendingPostIds(category, size);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // IN 조회 결과를 랭킹 순서대로 정렬 (그 사이 삭제된 게시글은 제외)
+        Map<Long, PostResponse> postMap = new HashMap<>();
+        for (PostResponse post : postRepository.findPostsByIds(ids)) {
+            postMap.put(post.getId(), post);
+        }
+        List<PostResponse> content = ids.stream()
+                .map(postMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        applyBookmarkFlags(userId, content);
+        return content;
     }
 
     // 5. 게시글 상세 조회
     public PostDetailResponse getPostDetail(Long postId, Long currentUserId) {
 
-        // A. 조회수 증가 (Redis) - DB 연결 필요 없음
-        redisTemplate.opsForHash().increment(POST_STATS_KEY_PREFIX + postId, "viewCount", 1L);
-        redisTemplate.opsForHash().increment(VIEW_BATCH_KEY, String.valueOf(postId), 1L);
+        // A. 조회수 증가 + 본문 + 통계 + 댓글 트리 조회 (Redis 1회 왕복) - DB 연결 필요 없음
+        // ㄴ 본문이 L1에 있으면 Redis에서는 본문을 읽지 않음
+        PostDetailResponse response = postDetailCacheService.getLocal(postId);
+        List<Object> redisResult = redisTemplate.execute(DETAIL_READ_SCRIPT,
+                Arrays.asList(POST_STATS_KEY_PREFIX + postId, VIEW_BATCH_KEY,
+                        PostDetailCacheService.cacheKey(postId), PostCommentCacheService.versionKey(postId),
+                        PostCommentCacheService.treeKey(postId)),
+                String.valueOf(postId), response == null ? "1" : "0");
 
-        // B. 게시글 본문 조회
+        // B. 게시글 본문 조회 (L1 Miss 시 L2 결과 사용, 그마저 없으면 DB)
         // 내부적으로 Repository 호출 시 순간적으로 커넥션을 얻고 즉시 반환함
-        PostDetailResponse response = getCachedPostBaseInfo(postId);
+        if (response == null) {
+            response = getCachedPostBaseInfo(postId, (String) redisResult.get(0));
+        }
 
-        // C. 댓글 목록 조회 (DB)
-        // 이 시점에 커넥션을 얻고, 쿼리 실행 후 즉시 반환
-        List<CommentResponse> comments = postRepository.findCommentsByPostId(postId);
-        response.setComments(convertToCommentHierarchy(comments));
+        // C. 댓글 트리 조회 (현재 버전의 캐시 -> Miss 시 DB)
+        // DB 조회 시점에만 커넥션을 얻고, 쿼리 실행 후 즉시 반환
+        response.setComments(postCommentCacheService.resolveTree(postId, (String) redisResult.get(4), (String) redisResult.get(5),
+                () -> convertToCommentHierarchy(postRepository.findCommentsByPostId(postId))));
 
-        // D. 통계 데이터 병합 (Redis) - DB 연결 필요 없음
-        mergeDynamicStats(postId, response);
+        // D. 통계 데이터 병합 (A에서 읽은 값 사용)
+        mergeDynamicStats(postId, response, redisResult.subList(1, 4));
 
-        // E. 개인화 정보 확인 (DB)
+        // E. 개인화 정보 확인
         // 캐시된 데이터(response)는 공통 정보이므로, 내 북마크 여부는 별도로 확인해야 함.
         if (currentUserId != null) {
-            // getReferenceById는 프록시만 가져오므로 DB 조회 발생 안 함
-            PostEntity proxyPost = postRepository.getReferenceById(postId);
-            // exists 쿼리는 매우 가볍고, 인덱스를 타므로 성능 영향 미미함.
-            // 핵심은 이 쿼리 수행 시간 동안만 커넥션을 점유한다는 것임.
-            boolean isBookmarked = postBookmarkRepository.existsByPostAndUserId(proxyPost, currentUserId);
-            response.setBookmarked(isBookmarked);
+            // 사용자별 북마크 Set에서 조회 (Bloom Filter가 아니라고 하면 Redis도 조회하지 않음, DB 커넥션 X)
+            response.setBookmarked(postBookmarkMembershipService.isBookmarked(currentUserId, postId));
         }
 
         return response;
     }
 
+    // 5-1. 댓글 목록 조회 (루트 댓글만 커서 기반으로 조회, 대댓글은 5-2로 펼칠 때 조회)
+    // ㄴ 상세 조회처럼 전체 댓글 트리를 만들지 않으므로 댓글이 많은 게시글도 응답 크기가 일정함
+    public CursorPageResponse<CommentResponse> getComments(Long postId, String cursor, int size) {
+        return postCommentCacheService.getOrLoad(postId, null, cursor, size,
+                () -> loadCommentPage(postId, null, cursor, size));
+    }
+
+    // 5-2. 대댓글 목록 조회 (커서 기반)
+    public CursorPageResponse<CommentResponse> getReplies(Long postId, Long commentId, String cursor, int size) {
+        return postCommentCacheService.getOrLoad(postId, commentId, cursor, size,
+                () -> loadCommentPage(postId, commentId, cursor, size));
+    }
+
     // 6. 댓글 작성
     @Transactional
     public void createComment(Long userId, Long postId, CommentRequest request) {
@@ -154,6 +278,7 @@ public class PostService {
 
         redisTemplate.opsForHash().increment(POST_STATS_KEY_PREFIX + postId, "commentCount", 1L);
         redisTemplate.opsForHash().increment(COMMENT_BATCH_KEY, String.valueOf(postId), 1L);
+        postCommentCacheService.evict(postId);
     }
 
     // 7. 댓글 수정
@@ -166,6 +291,7 @@ public class PostService {
         if (!comment.getUserId().equals(userId)) throw new BusinessException(NOT_COMMENT_OWNER);
 
         comment.updateContent(request.getContent());
+        postCommentCacheService.evict(postId);
     }
 
     // 8. 댓글 삭제
@@ -180,6 +306,7 @@ public class PostService {
 
         redisTemplate.opsForHash().increment(POST_STATS_KEY_PREFIX + postId, "commentCount", -1L);
         redisTemplate.opsForHash().increment(COMMENT_BATCH_KEY, String.valueOf(postId), -1L);
+        postCommentCacheService.evict(postId);
     }
 
     // 9. 답변 채택
@@ -190,31 +317,45 @@ public class PostService {
         if (post.getCategory() != PostCategory.QNA) throw new BusinessException(NOT_QNA_CATEGORY);
 
         PostCommentEntity comment = commentRepository.findById(commentId).orElseThrow(() -> new BusinessException(COMMENT_NOT_FOUND));
+        boolean wasSolved = post.isSolved();
         comment.accept();
         post.markAsSolved();
-        redisTemplate.delete(POST_INFO_KEY_PREFIX + postId);
+        if (!wasSolved) {
+            postCountService.onPostSolved(post.getCategory());
+            postFeedCacheService.evict(post.getCategory());
+        }
+        postDetailCacheService.evict(postId);
+        postCommentCacheService.evict(postId);
     }
 
     // 10. 북마크 토글
-    @Transactional
+    // ㄴ 사전 조회 없이 INSERT IGNORE -> (이미 있으면) DELETE 순으로 처리하고, 실제로 변경된 행이 있을 때만 카운터 증감
+    // ㄴ 동시에 두 번 눌러도 유니크 제약으로 중복 삽입되지 않으며, 카운터는 항상 실제 행 변화와 일치함
+    // ㄴ Write-Behind 모드에서는 Redis 버퍼에만 기록하므로 메서드 전체에 트랜잭션을 걸지 않음 (DB 커넥션 X)
     public void toggleBookmark(Long userId, Long postId) {
-        PostEntity post = postRepository.getReferenceById(postId);
-        String statsKey = POST_STATS_KEY_PREFIX + postId;
-
-        postBookmarkRepository.findByPostAndUserId(post, userId).ifPresentOrElse(
-                bookmark -> {
-                    // 취소
-                    postBookmarkRepository.delete(bookmark);
-                    redisTemplate.opsForHash().increment(statsKey, "bookmarkCount", -1L);
-                    redisTemplate.opsForHash().increment(BOOKMARK_BATCH_KEY, String.valueOf(postId), -1L);
-                },
-                () -> {
-                    // 등록
-                    postBookmarkRepository.save(new PostBookmarkEntity(post, userId));
-                    redisTemplate.opsForHash().increment(statsKey, "bookmarkCount", 1L);
-                    redisTemplate.opsForHash().increment(BOOKMARK_BATCH_KEY, String.valueOf(postId), 1L);
-                }
-        );
+        if (postBookmarkBufferService.isEnabled()) {
+            // 게시글 존재 확인 (상세 조회로 통계 Hash가 있으면 DB 조회 생략)
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(POST_STATS_KEY_PREFIX + postId)) && !postRepository.existsById(postId)) {
+                throw new BusinessException(POST_NOT_FOUND);
+            }
+            postBookmarkBufferService.toggle(userId, postId);
+            return;
+        }
+
+        Long delta = transactionTemplate.execute(status -> {
+            if (postBookmarkRepository.insertIgnore(postId, userId) > 0) {
+                return 1L; // 등록
+            } else if (postBookmarkRepository.deleteByPostIdAndUserId(postId, userId) > 0) {
+                return -1L; // 취소
+            }
+            throw new BusinessException(POST_NOT_FOUND); // 삽입도 삭제도 안 됨 -> 게시글 없음
+        });
+
+        postBookmarkMembershipService.onChanged(userId, postId, delta > 0);
+        redisTemplate.execute(BOOKMARK_DELTA_SCRIPT,
+                Arrays.asList(POST_STATS_KEY_PREFIX + postId, BOOKMARK_BATCH_KEY),
+                String.valueOf(postId), String.valueOf(delta));
+        postCountService.onBookmarkToggled(userId);
     }
 
     // 11. 팀원 모집 지원 (Read/Feign -> DB Write 없음)
@@ -240,64 +381,47 @@ public class PostService {
         if (!post.getUserId().equals(userId)) throw new BusinessException(NOT_POST_OWNER);
         if (post.getCategory() != PostCategory.RECRUIT) throw new BusinessException(NOT_RECRUIT_CATEGORY);
         post.updateRecruitmentStatus(status);
-        redisTemplate.delete(POST_INFO_KEY_PREFIX + postId);
+        postDetailCacheService.evict(postId);
+        postFeedCacheService.evict(post.getCategory());
     }
 
     // 13. 마이페이지 관련 조회
     @Transactional(readOnly = true)
     public Page<MyPostResponse> getMyPosts(Long userId, PostCategory category, Pageable pageable) {
-        return postRepository.findMyPosts(userId, category, pageable);
+        List<MyPostResponse> content = postRepository.findMyPosts(userId, category, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> postCountService.getMyPostCount(userId, category));
     }
 
     @Transactional(readOnly = true)
     public Page<MyBookmarkPostResponse> getMyBookmarkedPosts(Long userId, PostCategory category, Pageable pageable) {
-        return postRepository.findMyBookmarkedPosts(userId, category, pageable);
+        List<MyBookmarkPostResponse> content = postRepository.findMyBookmarkedPosts(userId, category, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> postCountService.getMyBookmarkCount(userId, category));
     }
 
     // ==========================================
     // Private Helpers
     // ==========================================
 
-    private PostDetailResponse getCachedPostBaseInfo(Long postId) {
-        String cacheKey = POST_INFO_KEY_PREFIX + postId;
-        String cachedJson = redisTemplate.opsForValue().get(cacheKey);
-
-        if (StringUtils.hasText(cachedJson)) {
-            try {
-                return objectMapper.readValue(cachedJson, PostDetailResponse.class);
-            } catch (JsonProcessingException e) {
-                log.error("JSON Parsing Error", e);
-            }
-        }
-
-        // Cache Miss -> DB 조회
+    private PostDetailResponse getCachedPostBaseInfo(Long postId, String cachedJson) {
+        // L2(Redis) -> DB
         // Repository 메서드 호출 시점에만 DB 커넥션 사용
-        PostDetailResponse response = postRepository.findPostDetailById(postId, null)
-                .orElseThrow(() -> new BusinessException(POST_NOT_FOUND));
-        response.setComments(new ArrayList<>());
-
-        try {
-            redisTemplate.opsForValue().set(cacheKey, objectMapper.writeValueAsString(response), 1, TimeUnit.HOURS);
-        } catch (JsonProcessingException e) {
-            log.error("Redis Set Error", e);
-        }
-        return response;
+        return postDetailCacheService.resolve(postId, cachedJson, () -> postRepository.findPostDetailById(postId, null)
+                .orElseThrow(() -> new BusinessException(POST_NOT_FOUND)));
     }
 
-    private void mergeDynamicStats(Long postId, PostDetailResponse response) {
-        String statsKey = POST_STATS_KEY_PREFIX + postId;
-        List<Object> stats = redisTemplate.opsForHash().multiGet(statsKey, Arrays.asList("viewCount", "bookmarkCount", "commentCount"));
-
+    private void mergeDynamicStats(Long postId, PostDetailResponse response, List<Object> stats) {
         Object viewCount = stats.get(0);
         Object bookmarkCount = stats.get(1);
         Object commentCount = stats.get(2);
 
         if (viewCount == null || bookmarkCount == null || commentCount == null) {
-            redisTemplate.opsForHash().putIfAbsent(statsKey, "viewCount", String.valueOf(response.getViewCount()));
-            redisTemplate.opsForHash().putIfAbsent(statsKey, "bookmarkCount", String.valueOf(response.getBookmarkCount()));
-
+            // 통계 Hash가 없으면 DB 값 기준으로 초기화 (이번 조회 1회 포함)
+            long dbViewCount = (response.getViewCount() != null ? response.getViewCount() : 0L) + 1;
+            String dbBookmarkCount = response.getBookmarkCount() != null ? String.valueOf(response.getBookmarkCount()) : "0";
             String dbCommentCount = response.getCommentCount() != null ? String.valueOf(response.getCommentCount()) : "0";
-            redisTemplate.opsForHash().putIfAbsent(statsKey, "commentCount", dbCommentCount);
+            redisTemplate.execute(STATS_INIT_SCRIPT, Collections.singletonList(POST_STATS_KEY_PREFIX + postId),
+                    String.valueOf(dbViewCount), dbBookmarkCount, dbCommentCount);
+            response.setViewCount(dbViewCount);
         } else {
             response.setViewCount(Long.parseLong(viewCount.toString()));
             response.setBookmarkCount(Long.parseLong(bookmarkCount.toString()));
@@ -305,6 +429,53 @@ public class PostService {
         }
     }
 
+    // 목록의 북마크 여부를 사용자별 북마크 Set에서 한 번에 조회하여 병합 (Bloom Filter로 걸러진 후보만 Redis 조회)
+    private void applyBookmarkFlags(Long userId, List<PostResponse> posts) {
+        if (userId == null || posts.isEmpty()) {
+            return;
+        }
+
+        List<Long> postIds = posts.stream().map(PostResponse::getId).toList();
+        Set<Long> bookmarkedIds = postBookmarkMembershipService.findBookmarkedIds(userId, postIds);
+
+        for (PostResponse post : posts) {
+            post.setIsBookmarked(bookmarkedIds.contains(post.getId()));
+        }
+    }
+
+    private CursorPageResponse<CommentResponse> loadCommentPage(Long postId, Long parentId, String cursor, int size) {
+        PostCursor decoded = PostCursor.decode(cursor);
+        LocalDateTime cursorCreatedAt = decoded != null ? decoded.getCreatedAt() : null;
+        Long cursorId = decoded != null ? decoded.getId() : null;
+
+        // size + 1건을 조회해서 다음 페이지 존재 여부 판단
+        List<CommentResponse> content = new ArrayList<>(
+                postRepository.findCommentsByCursor(postId, parentId, cursorCreatedAt, cursorId, size + 1));
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content.remove(size);
+        }
+
+        // 각 댓글의 대댓글 수 (GROUP BY 한 번으로 조회)
+        if (!content.isEmpty()) {
+            Map<Long, Long> replyCounts = new HashMap<>();
+            List<Long> commentIds = content.stream().map(CommentResponse::getId).toList();
+            for (Tuple row : postRepository.countRepliesByParentIds(commentIds)) {
+                replyCounts.put(row.get(0, Long.class), row.get(1, Long.class));
+            }
+            content.forEach(c -> c.setReplyCount(replyCounts.getOrDefault(c.getId(), 0L)));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            CommentResponse last = content.get(content.size() - 1);
+            nextCursor = PostCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor);
+    }
+
     private List<CommentResponse> convertToCommentHierarchy(List<CommentResponse> comments) {
         Map<Long, CommentResponse> map = new HashMap<>();
         List<CommentResponse> roots = new ArrayList<>();
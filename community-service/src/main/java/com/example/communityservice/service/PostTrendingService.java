@@ -0,0 +1,163 @@
+package com.example.communityservice.service;
+
+import com.example.communityservice.entity.enumerate.PostCategory;
+import com.example.communityservice.repository.PostRepository;
+import com.example.communityservice.repository.PostStatsBatchRepository.StatsColumn;
+import com.querydsl.core.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 인기 급상승(Trending) 게시글 점수 (Redis ZSET)
+ * ㄴ Forward Decay 방식: 활동이 발생한 시각 기준으로 2^((now - epoch) / halfLife) 만큼 가중하여 더한다.
+ * ㄴ 오래된 활동은 상대적으로 작아지므로 기존 점수를 매번 감소시키지 않아도 시간 감쇠 순위가 유지된다.
+ * ㄴ 가중치가 계속 커지지 않도록 rescale()이 주기적으로 전체 점수를 현재 시각 기준으로 환산하고 epoch를 옮긴다.
+ * ㄴ 점수 증분은 PostBatchScheduler가 DB에 반영한 조회수/북마크/댓글 증분(post:views, post:bookmarks:delta, post:comments:delta)을 그대로 사용한다.
+ *    (Write-Behind 모드의 북마크는 PostBookmarkBufferService가 DB에 반영한 실제 변경분을 사용)
+ *
+ * [Key 규칙]
+ * ㄴ 1) "post:trending:ALL", "post:trending:{category}"  (ZSET - member: postId)
+ * ㄴ 2) "post:trending:epoch"                            (가중치 기준 시각, ms)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostTrendingService {
+
+    private final PostRepository postRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String TRENDING_KEY_PREFIX = "post:trending:";
+    private static final String EPOCH_KEY = "post:trending:epoch";
+    private static final String ALL = "ALL";
+
+    private static final long HALF_LIFE_MILLIS = 6 * 60 * 60 * 1000L; // 6시간마다 활동 가치가 절반
+    private static final int MAX_ENTRIES = 1000; // 카테고리별 상위 N개만 유지
+
+    // 활동 종류별 가중치
+    private static final Map<StatsColumn, Long> WEIGHTS = Map.of(
+            StatsColumn.VIEW_COUNT, 1L,
+            StatsColumn.BOOKMARK_COUNT, 5L,
+            StatsColumn.COMMENT_COUNT, 3L
+    );
+
+    // KEYS[1]: epoch, KEYS[2]: ALL ZSET, KEYS[3..]: 항목별 카테고리 ZSET
+    // ARGV[1]: 현재 시각, ARGV[2]: 반감기, ARGV[3..]: (postId, points) 쌍
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = redis.call('GET', KEYS[1]) " +
+            "if not epoch then epoch = ARGV[1]; redis.call('SET', KEYS[1], epoch) end " +
+            "local factor = math.pow(2, (tonumber(ARGV[1]) - tonumber(epoch)) / tonumber(ARGV[2])) " +
+            "for i = 3, #KEYS do " +
+            "  local idx = (i - 3) * 2 + 3 " +
+            "  local inc = tonumber(ARGV[idx + 1]) * factor " +
+            "  redis.call('ZINCRBY', KEYS[2], inc, ARGV[idx]) " +
+            "  redis.call('ZINCRBY', KEYS[i], inc, ARGV[idx]) " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    // KEYS[1]: epoch, KEYS[2..]: 전체 ZSET / ARGV[1]: 현재 시각, ARGV[2]: 반감기, ARGV[3]: 유지 개수
+    private static final RedisScript<Long> RESCALE_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = redis.call('GET', KEYS[1]) " +
+            "if epoch then " +
+            "  local weight = math.pow(2, -(tonumber(ARGV[1]) - tonumber(epoch)) / tonumber(ARGV[2])) " +
+            "  for i = 2, #KEYS do " +
+            "    if redis.call('EXISTS', KEYS[i]) == 1 then " +
+            "      redis.call('ZUNIONSTORE', KEYS[i], 1, KEYS[i], 'WEIGHTS', weight) " +
+            "      redis.call('ZREMRANGEBYRANK', KEYS[i], 0, -(tonumber(ARGV[3]) + 1)) " +
+            "    end " +
+            "  end " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    /**
+     * 인기 급상승 게시글 ID (점수 내림차순)
+     */
+    public List<Long> getTrendingPostIds(PostCategory category, int size) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(trendingKey(category), 0, size - 1);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * 스케줄러가 DB에 반영한 통계 증분을 점수에 반영
+     * @param deltas [postId, delta] 목록
+     */
+    public void onStatsFlushed(StatsColumn column, List<long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // 카테고리 조회 (청크 단위 IN 쿼리 1회) - 삭제된 게시글은 제외됨
+        Map<Long, PostCategory> categories = new HashMap<>();
+        List<Long> postIds = deltas.stream().map(d -> d[0]).toList();
+        for (Tuple row : postRepository.findCategoriesByIds(postIds)) {
+            categories.put(row.get(0, Long.class), row.get(1, PostCategory.class));
+        }
+
+        long weight = WEIGHTS.getOrDefault(column, 0L);
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(EPOCH_KEY);
+        keys.add(trendingKey(null));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(HALF_LIFE_MILLIS));
+
+        for (long[] delta : deltas) {
+            PostCategory category = categories.get(delta[0]);
+            if (category == null) continue;
+            keys.add(trendingKey(category));
+            args.add(String.valueOf(delta[0]));
+            args.add(String.valueOf(delta[1] * weight));
+        }
+
+        if (keys.size() > 2) {
+            redisTemplate.execute(INCREMENT_SCRIPT, keys, args.toArray());
+        }
+    }
+
+    // 게시글 삭제 시 랭킹에서 제거
+    public void remove(Long postId, PostCategory category) {
+        String member = String.valueOf(postId);
+        redisTemplate.opsForZSet().remove(trendingKey(null), member);
+        redisTemplate.opsForZSet().remove(trendingKey(category), member);
+    }
+
+    /**
+     * 전체 점수를 현재 시각 기준으로 환산 + 상위 MAX_ENTRIES개만 유지 (스케줄러에서 주기적으로 호출)
+     */
+    public void rescale() {
+        List<String> keys = new ArrayList<>();
+        keys.add(EPOCH_KEY);
+        keys.add(trendingKey(null));
+        for (PostCategory category : PostCategory.values()) {
+            keys.add(trendingKey(category));
+        }
+        redisTemplate.execute(RESCALE_SCRIPT, keys,
+                String.valueOf(System.currentTimeMillis()), String.valueOf(HALF_LIFE_MILLIS), String.valueOf(MAX_ENTRIES));
+        log.info("[Trending] 점수 환산 및 정리 완료");
+    }
+
+    private String trendingKey(PostCategory category) {
+        return TRENDING_KEY_PREFIX + (category != null ? category.name() : ALL);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.communityservice.util;
+
+import com.example.commonmodule.exception.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static com.example.communityservice.exception.ErrorCode.INVALID_INPUT_VALUE;
+
+/**
+ * 게시글 목록 Keyset 페이징용 커서 (created_at, id)
+ * ㄴ 클라이언트에는 Base64(URL-safe)로 인코딩한 불투명(opaque) 문자열로만 노출한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PostCursor {
+
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor of(LocalDateTime createdAt, Long id) {
+        return new PostCursor(createdAt, id);
+    }
+
+    /**
+     * 커서 문자열 해석 (비어있으면 첫 페이지로 간주하여 null 반환)
+     */
+    public static PostCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, idx)), Long.parseLong(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(INVALID_INPUT_VALUE);
+        }
+    }
+}
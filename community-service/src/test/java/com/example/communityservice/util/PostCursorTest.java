@@ -0,0 +1,51 @@
+package com.example.communityservice.util;
+
+import com.example.commonmodule.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostCursorTest {
+
+    @Test
+    void 인코딩한_커서를_그대로_복원() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30, 45, 123_456_000);
+
+        PostCursor decoded = PostCursor.decode(PostCursor.of(createdAt, 42L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void 초_단위가_0이어도_복원() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30);
+
+        PostCursor decoded = PostCursor.decode(PostCursor.of(createdAt, 7L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void 인코딩_결과는_URL_안전_문자만_사용() {
+        String encoded = PostCursor.of(LocalDateTime.of(2025, 3, 1, 0, 0), 1L).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void 빈_커서는_첫_페이지() {
+        assertThat(PostCursor.decode(null)).isNull();
+        assertThat(PostCursor.decode("")).isNull();
+    }
+
+    @Test
+    void 잘못된_커서는_예외() {
+        assertThatThrownBy(() -> PostCursor.decode("not-a-cursor"))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.portfolioservice.config;
+
+import com.example.commonmodule.redis.BatchLeaderLease;
+import com.example.portfolioservice.service.PortfolioCardCacheService;
+import com.example.portfolioservice.service.PortfolioDetailCacheService;
+import com.example.portfolioservice.service.PortfolioLikeMembershipService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+
+@Configuration
+public class RedisConfig {
+
+    // 로컬(L1) 캐시 무효화 메시지 구독 (Pod 간 캐시 정합성 유지용)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       MessageListenerAdapter portfolioCacheInvalidationListener,
+                                                                       MessageListenerAdapter portfolioCardCacheInvalidationListener,
+                                                                       MessageListenerAdapter portfolioLikeMembershipInvalidationListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(portfolioCacheInvalidationListener, new ChannelTopic(PortfolioDetailCacheService.INVALIDATION_CHANNEL));
+        container.addMessageListener(portfolioCardCacheInvalidationListener, new ChannelTopic(PortfolioCardCacheService.INVALIDATION_CHANNEL));
+        container.addMessageListener(portfolioLikeMembershipInvalidationListener, new ChannelTopic(PortfolioLikeMembershipService.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public MessageListenerAdapter portfolioCacheInvalidationListener(PortfolioDetailCacheService portfolioDetailCacheService) {
+        return new MessageListenerAdapter(portfolioDetailCacheService, "handleInvalidation");
+    }
+
+    @Bean
+    public MessageListenerAdapter portfolioCardCacheInvalidationListener(PortfolioCardCacheService portfolioCardCacheService) {
+        return new MessageListenerAdapter(portfolioCardCacheService, "handleInvalidation");
+    }
+
+    @Bean
+    public MessageListenerAdapter portfolioLikeMembershipInvalidationListener(PortfolioLikeMembershipService portfolioLikeMembershipService) {
+        return new MessageListenerAdapter(portfolioLikeMembershipService, "handleInvalidation");
+    }
+
+    // 배치 스케줄러 리더 임대 (리더 1대만 Write-Behind/동기화 작업 수행)
+    @Bean
+    public BatchLeaderLease batchLeaderLease(StringRedisTemplate stringRedisTemplate) {
+        return new BatchLeaderLease(stringRedisTemplate);
+    }
+}
@@ -21,7 +21,9 @@ import java.util.List;
         // 최신순(수정순) 정렬 (필터링 X)
         @Index(name = "idx_portfolio_publish_date", columnList = "is_published, last_modified_at DESC"),
         // 직군별 필터링 + 최신 수정순 정렬 (커버링 인덱스 효과)
-        @Index(name = "idx_portfolio_position_publish_date", columnList = "is_published, position, last_modified_at DESC")
+        @Index(name = "idx_portfolio_position_publish_date", columnList = "is_published, position, last_modified_at DESC"),
+        // 직군별 필터링 + 인기순 정렬 (랭킹 ZSET 미준비 시 ID 목록 조회용 커버링 인덱스)
+        @Index(name = "idx_portfolio_position_popularity", columnList = "is_published, position, popularity_score DESC")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -0,0 +1,86 @@
+package com.example.portfolioservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 관심(좋아요) 행 일괄 반영 전용 JDBC Repository (Write-Behind 소비자용)
+ * ㄴ 건별 INSERT/DELETE 대신 JDBC batchUpdate로 한 번에 전송 (rewriteBatchedStatements=true 필요)
+ * ㄴ INSERT IGNORE / DELETE 모두 멱등이므로 같은 배치가 재처리되어도 결과가 같음
+ * ㄴ 좋아요 수는 반영 전 findExisting으로 실제 변경 대상을 가려낸 뒤 같은 트랜잭션에서 addLikeCounts로 증감 (PortfolioLikeBufferService)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PortfolioLikeBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이미 저장된 관심 조회 (uk_user_portfolio 인덱스로 처리)
+     * ㄴ 잠금 읽기(FOR UPDATE)로 리더 교체 중 겹친 flush 트랜잭션을 직렬화 (없는 행은 갭 잠금으로 동시 INSERT 충돌 시 한쪽 롤백)
+     * @param likes [likerId, portfolioId] 목록
+     * @return 존재하는 [likerId, portfolioId] 목록
+     */
+    public List<long[]> findExisting(List<long[]> likes) {
+        if (likes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "SELECT liker_id, portfolio_id FROM portfolio_like WHERE (liker_id, portfolio_id) IN ("
+                + String.join(", ", Collections.nCopies(likes.size(), "(?, ?)")) + ") FOR UPDATE";
+        Object[] args = new Object[likes.size() * 2];
+        for (int i = 0; i < likes.size(); i++) {
+            args[i * 2] = likes.get(i)[0];
+            args[i * 2 + 1] = likes.get(i)[1];
+        }
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, args);
+    }
+
+    /**
+     * 관심 등록 일괄 반영 (이미 있거나 포트폴리오가 삭제된 행은 무시)
+     * @param likes [likerId, portfolioId] 목록
+     */
+    public void insertAll(List<long[]> likes) {
+        if (likes.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT IGNORE INTO portfolio_like (liker_id, portfolio_id, created_at, last_modified_at) VALUES (?, ?, NOW(6), NOW(6))";
+        jdbcTemplate.batchUpdate(sql, likes, likes.size(), (ps, like) -> {
+            ps.setLong(1, like[0]);
+            ps.setLong(2, like[1]);
+        });
+    }
+
+    /**
+     * 관심 취소 일괄 반영
+     * @param likes [likerId, portfolioId] 목록
+     */
+    public void deleteAll(List<long[]> likes) {
+        if (likes.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM portfolio_like WHERE liker_id = ? AND portfolio_id = ?";
+        jdbcTemplate.batchUpdate(sql, likes, likes.size(), (ps, like) -> {
+            ps.setLong(1, like[0]);
+            ps.setLong(2, like[1]);
+        });
+    }
+
+    /**
+     * 포트폴리오별 좋아요 수 일괄 증감
+     * @param deltas [portfolioId, delta] 목록
+     */
+    public void addLikeCounts(List<long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE portfolio SET like_count = like_count + ? WHERE portfolio_id = ?";
+        jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta[1]);
+            ps.setLong(2, delta[0]);
+        });
+    }
+}
@@ -4,16 +4,31 @@ import com.example.portfolioservice.entity.PortfolioLikeEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.List;
 
 public interface PortfolioLikeRepository extends JpaRepository<PortfolioLikeEntity, Long>, PortfolioLikeRepositoryCustom {
 
-    // 특정 사용자가 특정 포트폴리오를 좋아하는지 확인
-    boolean existsByLikerIdAndPortfolio(Long likerId, com.example.portfolioservice.entity.PortfolioEntity portfolio);
+    // 관심 등록 (사전 조회 없이 INSERT 1회)
+    // ㄴ 이미 등록된 경우 uk_user_portfolio 위반, 포트폴리오가 없으면 FK 위반으로 DataIntegrityViolationException 발생 (호출 측에서 구분)
+    // ㄴ INSERT IGNORE는 FK 위반까지 경고로 삼키고, ON DUPLICATE KEY UPDATE는 기본 드라이버 설정(found rows)에서 중복도 1건으로 반환하므로 사용하지 않음
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_like (liker_id, portfolio_id, created_at, last_modified_at) " +
+            "VALUES (:likerId, :portfolioId, NOW(6), NOW(6))",
+            nativeQuery = true)
+    int insertLike(@Param("likerId") Long likerId, @Param("portfolioId") Long portfolioId);
 
-    // 관심 취소 시 사용할 삭제 메서드
-    Optional<PortfolioLikeEntity> findByLikerIdAndPortfolio(Long likerId, com.example.portfolioservice.entity.PortfolioEntity portfolio);
+    // 관심 취소 - 실제 삭제된 행 수 반환
+    @Modifying
+    @Query(value = "DELETE FROM portfolio_like WHERE liker_id = :likerId AND portfolio_id = :portfolioId", nativeQuery = true)
+    int deleteByLikerIdAndPortfolioId(@Param("likerId") Long likerId, @Param("portfolioId") Long portfolioId);
+
+    // 사용자가 관심 누른 포트폴리오 ID 전체 (사용자별 관심 Set 초기화용, uk_user_portfolio 인덱스만으로 처리)
+    @Query("SELECT pl.portfolio.portfolioId FROM PortfolioLikeEntity pl WHERE pl.likerId = :likerId")
+    List<Long> findAllLikedPortfolioIds(@Param("likerId") Long likerId);
 
     // 특정 사용자가 관심 누른 포트폴리오 목록 조회
     Slice<PortfolioLikeEntity> findAllByLikerId(Long likerId, Pageable pageable);
@@ -1,13 +1,12 @@
 package com.example.portfolioservice.repository;
 
-import com.example.portfolioservice.dto.response.PortfolioCardResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 
 public interface PortfolioLikeRepositoryCustom {
 
     /**
-     * 내 관심 포트폴리오 목록을 동적 쿼리(직군, 정렬)로 조회
+     * 내 관심 포트폴리오 ID 목록을 동적 쿼리(직군, 정렬)로 조회 (카드 내용은 서비스에서 PortfolioCardCacheService로 채움)
      */
-    Slice<PortfolioCardResponse> searchMyLikedPortfolios(Long likerId, String position, Pageable pageable);
+    Slice<Long> searchMyLikedPortfolioIds(Long likerId, String position, Pageable pageable);
 }
\ No newline at end of file
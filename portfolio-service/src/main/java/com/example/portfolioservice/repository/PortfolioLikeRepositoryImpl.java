@@ -1,14 +1,11 @@
 package com.example.portfolioservice.repository;
 
-import com.example.portfolioservice.dto.response.PortfolioCardResponse;
 import com.example.portfolioservice.entity.PortfolioEntity;
 import com.example.portfolioservice.entity.QPortfolioEntity;
 import com.example.portfolioservice.entity.QPortfolioLikeEntity;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
-import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -30,25 +27,11 @@ public class PortfolioLikeRepositoryImpl implements PortfolioLikeRepositoryCusto
     private final QPortfolioEntity portfolio = QPortfolioEntity.portfolioEntity;
 
     @Override
-    public Slice<PortfolioCardResponse> searchMyLikedPortfolios(Long likerId, String position, Pageable pageable) {
-
-        // 1. 기본 쿼리 생성 (조인 및 필터링)
-        JPAQuery<PortfolioCardResponse> query = queryFactory
-                .select(Projections.constructor(PortfolioCardResponse.class,
-                        portfolio.userId,
-                        portfolio.portfolioId,
-                        portfolio.name,
-                        portfolio.email,
-                        portfolio.position,
-                        portfolio.photoUrl,
-                        portfolio.oneLiner,
-                        portfolio.hashtags,
-                        portfolio.viewCount,
-                        portfolio.likeCount,
-                        Expressions.constant(true),
-                        portfolio.createdAt,
-                        portfolio.lastModifiedAt
-                ))
+    public Slice<Long> searchMyLikedPortfolioIds(Long likerId, String position, Pageable pageable) {
+
+        // 1. 기본 쿼리 생성 (조인 및 필터링) - 카드 내용은 캐시에서 채우므로 ID만 조회
+        JPAQuery<Long> query = queryFactory
+                .select(portfolio.portfolioId)
                 .from(portfolioLike)
                 .join(portfolioLike.portfolio, portfolio) // PortfolioLike -> Portfolio 조인
                 .where(
@@ -61,7 +44,7 @@ public class PortfolioLikeRepositoryImpl implements PortfolioLikeRepositoryCusto
         applySorting(query, pageable.getSort());
 
         // 3. 페이징 적용
-        List<PortfolioCardResponse> results = query
+        List<Long> results = query
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize() + 1) // Slice 처리를 위해 +1
                 .fetch();
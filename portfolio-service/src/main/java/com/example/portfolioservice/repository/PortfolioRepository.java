@@ -2,12 +2,13 @@ package com.example.portfolioservice.repository;
 
 import com.example.portfolioservice.entity.PortfolioEntity;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional; // [추가]
 
 public interface PortfolioRepository extends JpaRepository<PortfolioEntity, Long>, PortfolioRepositoryCustom {
@@ -24,10 +25,15 @@ public interface PortfolioRepository extends JpaRepository<PortfolioEntity, Long
     @Query("UPDATE PortfolioEntity p SET p.likeCount = p.likeCount + :delta WHERE p.portfolioId = :id")
     void updateLikeCount(@Param("id") Long id, @Param("delta") Long delta);
 
-    // 인기 점수 Bulk Update
+    // 인기 점수 부분 Update (이번 주기에 증분이 발생했거나 감쇠 순서가 돌아온 포트폴리오만)
     @Modifying(clearAutomatically = true)
     @Query(value = "UPDATE portfolio p SET p.popularity_score = " +
-            "CAST((p.view_count + p.like_count * 50) * 1000 / POW(TIMESTAMPDIFF(HOUR, IFNULL(p.last_modified_at, NOW()), NOW()) + 2, 1.5) AS UNSIGNED)",
+            "CAST((p.view_count + p.like_count * 50) * 1000 / POW(TIMESTAMPDIFF(HOUR, IFNULL(p.last_modified_at, NOW()), NOW()) + 2, 1.5) AS UNSIGNED) " +
+            "WHERE p.portfolio_id IN (:ids)",
             nativeQuery = true)
-    void updateAllPopularityScores();
+    int updatePopularityScores(@Param("ids") Collection<Long> ids);
+
+    // 감쇠 대상 ID Keyset 조회 (PK 범위 스캔)
+    @Query("SELECT p.portfolioId FROM PortfolioEntity p WHERE p.isPublished = true AND p.portfolioId > :lastId ORDER BY p.portfolioId ASC")
+    List<Long> findPublishedIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
 }
\ No newline at end of file
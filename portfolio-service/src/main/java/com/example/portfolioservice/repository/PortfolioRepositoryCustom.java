@@ -1,14 +1,27 @@
 package com.example.portfolioservice.repository;
 
 import com.example.portfolioservice.dto.response.PortfolioCardResponse;
-import com.example.portfolioservice.entity.PortfolioEntity;
+import com.querydsl.core.Tuple;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface PortfolioRepositoryCustom {
 
     /**
-     * 포트폴리오 목록을 동적 쿼리(직군)로 조회
+     * 포트폴리오 목록 ID를 동적 쿼리(직군)로 조회 (카드 내용은 서비스에서 PortfolioCardCacheService로 채움)
+     */
+    Slice<Long> searchPortfolioIds(String position, Pageable pageable);
+
+    /**
+     * ID 목록으로 발행된 포트폴리오 카드 조회 (카드 캐시 Miss 분 Hydrate용, 순서는 호출 측에서 맞춤)
+     */
+    List<PortfolioCardResponse> findCardsByIds(Collection<Long> portfolioIds);
+
+    /**
+     * 발행된 포트폴리오의 인기 점수 조회 (Tuple: portfolioId, popularityScore, position)
      */
-    Slice<PortfolioCardResponse> searchPortfolioList(Long userId, String position, Pageable pageable);
+    List<Tuple> findPublishedScores(Collection<Long> portfolioIds);
 }
\ No newline at end of file
@@ -1,16 +1,14 @@
 package com.example.portfolioservice.repository;
 
 import com.example.portfolioservice.dto.response.PortfolioCardResponse;
-import com.example.portfolioservice.entity.PortfolioEntity;
 import com.example.portfolioservice.entity.QPortfolioEntity;
-import com.example.portfolioservice.entity.QPortfolioLikeEntity;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +18,7 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
@@ -28,29 +27,15 @@ public class PortfolioRepositoryImpl implements PortfolioRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
     private final QPortfolioEntity portfolio = QPortfolioEntity.portfolioEntity;
-    private final QPortfolioLikeEntity portfolioLike = QPortfolioLikeEntity.portfolioLikeEntity;
 
+    /**
+     * 조회자와 무관한 공용 목록 쿼리 (ID만 조회하여 인덱스만으로 처리되도록 함)
+     */
     @Override
-    public Slice<PortfolioCardResponse> searchPortfolioList(Long userId, String position, Pageable pageable) {
-
-        Expression<Boolean> isLikedExpression = getIsLikedExpression(userId);
-
-        JPAQuery<PortfolioCardResponse> query = queryFactory
-                .select(Projections.constructor(PortfolioCardResponse.class,
-                        portfolio.userId,
-                        portfolio.portfolioId,
-                        portfolio.name,
-                        portfolio.email,
-                        portfolio.position,
-                        portfolio.photoUrl,
-                        portfolio.oneLiner,
-                        portfolio.hashtags,
-                        portfolio.viewCount,
-                        portfolio.likeCount,
-                        isLikedExpression, // 추출한 Expression 주입
-                        portfolio.createdAt,
-                        portfolio.lastModifiedAt
-                ))
+    public Slice<Long> searchPortfolioIds(String position, Pageable pageable) {
+
+        JPAQuery<Long> query = queryFactory
+                .select(portfolio.portfolioId)
                 .from(portfolio)
                 .where(
                         portfolio.isPublished.eq(true),
@@ -59,7 +44,7 @@ public class PortfolioRepositoryImpl implements PortfolioRepositoryCustom {
 
         applySorting(query, pageable.getSort());
 
-        List<PortfolioCardResponse> results = query
+        List<Long> results = query
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize() + 1)
                 .fetch();
@@ -73,20 +58,50 @@ public class PortfolioRepositoryImpl implements PortfolioRepositoryCustom {
         return new SliceImpl<>(results, pageable, hasNext);
     }
 
+    @Override
+    public List<PortfolioCardResponse> findCardsByIds(Collection<Long> portfolioIds) {
+        return queryFactory
+                .select(cardProjection())
+                .from(portfolio)
+                .where(
+                        portfolio.portfolioId.in(portfolioIds),
+                        portfolio.isPublished.eq(true)
+                )
+                .fetch();
+    }
+
+    @Override
+    public List<Tuple> findPublishedScores(Collection<Long> portfolioIds) {
+        return queryFactory
+                .select(portfolio.portfolioId, portfolio.popularityScore, portfolio.position)
+                .from(portfolio)
+                .where(
+                        portfolio.portfolioId.in(portfolioIds),
+                        portfolio.isPublished.eq(true)
+                )
+                .fetch();
+    }
+
     //==================//
     //== Helper Method==//
     //==================//
 
-    private Expression<Boolean> getIsLikedExpression(Long userId) {
-        if (userId == null) {
-            // 비로그인: 무조건 false
-            return Expressions.constant(false);
-        }
-        return JPAExpressions.selectOne()
-                .from(portfolioLike)
-                .where(portfolioLike.portfolio.portfolioId.eq(portfolio.portfolioId)
-                        .and(portfolioLike.likerId.eq(userId)))
-                .exists();
+    private Expression<PortfolioCardResponse> cardProjection() {
+        return Projections.constructor(PortfolioCardResponse.class,
+                portfolio.userId,
+                portfolio.portfolioId,
+                portfolio.name,
+                portfolio.email,
+                portfolio.position,
+                portfolio.photoUrl,
+                portfolio.oneLiner,
+                portfolio.hashtags,
+                portfolio.viewCount,
+                portfolio.likeCount,
+                Expressions.constant(false), // isLiked (서비스에서 병합)
+                portfolio.createdAt,
+                portfolio.lastModifiedAt
+        );
     }
 
     /**
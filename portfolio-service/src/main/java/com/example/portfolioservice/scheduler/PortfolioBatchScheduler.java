@@ -1,14 +1,26 @@
 package com.example.portfolioservice.scheduler;
 
+import com.example.commonmodule.redis.BatchLeaderLease;
+import com.example.commonmodule.redis.BatchLeaderLease.Lease;
 import com.example.portfolioservice.repository.PortfolioRepository;
+import com.example.portfolioservice.service.PortfolioLikeBufferService;
+import com.example.portfolioservice.service.PortfolioRankingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -16,7 +28,18 @@ import java.util.Map;
 public class PortfolioBatchScheduler {
 
     private final PortfolioRepository portfolioRepository;
+    private final PortfolioRankingService portfolioRankingService;
+    private final PortfolioLikeBufferService portfolioLikeBufferService;
     private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchLeaderLease leaderLease;
+    private final MeterRegistry meterRegistry;
+
+    // Lease (실행 주기 + 여유 시간. 리더가 죽으면 TTL 만료 후 다음 실행에서 다른 Pod가 인계)
+    private static final String LEASE_NAME = "portfolio-stats-sync";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(240);
+    private static final String LIKE_WRITER_LEASE_NAME = "portfolio-like-writer";
+    private static final Duration LIKE_WRITER_LEASE_TTL = Duration.ofSeconds(30);
 
     // Keys
     private static final String VIEW_BACKUP_KEY = "portfolio:views";
@@ -24,77 +47,156 @@ public class PortfolioBatchScheduler {
     private static final String LIKE_BATCH_KEY = "portfolio:likes:delta";
     private static final String LIKE_SYNC_KEY = "portfolio:likes:sync";
 
+    // 증분 Hash -> sync 키 이동 (임대 확인 + 존재 확인 + RENAME을 원자적으로 처리)
+    // ㄴ KEYS[1]: 증분 Hash, KEYS[2]: sync 키, KEYS[3]: 리더 임대 / ARGV[1]: 임대 값
+    // ㄴ 이전 실행이 반영하지 못한 sync 키가 남아 있으면 덮어쓰지 않고 그것부터 처리 (새 증분은 다음 실행으로)
+    // ㄴ 반환: 1(처리할 sync 키 있음), 0(증분 없음), -1(임대 상실)
+    private static final RedisScript<Long> DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[3]) ~= ARGV[1] then return -1 end " +
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 1 end " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "return 1",
+            Long.class);
+
     @Scheduled(fixedRate = 180000) // 3분마다 수행
-    @Transactional
     public void syncCountsAndCalculateScore() {
-        log.info("Batch Scheduler Started");
+        // 리더 임대를 보유한 Pod만 실행 (모든 Pod가 rename 경쟁 + 인기 점수 전체 UPDATE를 반복하지 않도록)
+        Lease lease = acquireLease();
+        if (lease == null) {
+            return;
+        }
 
-        syncViewCounts();
-        syncLikeCounts();
-        updatePopularityScoresInDb();
+        log.info("Batch Scheduler Started (fencingToken: {})", lease.getFencingToken());
+        Timer.Sample sample = Timer.start(meterRegistry);
 
+        // 리더 확인 이후에만 DB 커넥션/트랜잭션을 잡음 (Redis Drain은 트랜잭션 밖에서, 항목별 DB 반영만 트랜잭션 안에서)
+        Set<Long> changedIds = new HashSet<>();
+        syncViewCounts(lease, changedIds);
+        syncLikeCounts(lease, changedIds);
+
+        // 동기화 도중 임대가 다른 Pod로 넘어갔다면 점수 계산은 새 리더에게 맡김
+        if (leaderLease.isHeld(lease)) {
+            updatePopularityScores(changedIds);
+        } else {
+            log.warn("리더 임대 상실로 인기 점수 계산 생략 (fencingToken: {})", lease.getFencingToken());
+        }
+
+        sample.stop(meterRegistry.timer("batch.run.duration", "job", LEASE_NAME));
+        leaderLease.tryAcquire(LEASE_NAME, LEASE_TTL); // 작업 종료 시점 기준으로 임대 연장
         log.info("Batch Scheduler Finished");
     }
 
+    // Write-Behind 모드의 관심 토글을 DB에 반영 (Stream 소비, 리더 1대만 실행)
+    @Scheduled(fixedDelay = 1000, initialDelay = 10000)
+    public void flushLikeBuffer() {
+        if (!portfolioLikeBufferService.isEnabled()) {
+            return;
+        }
+        Lease lease = acquireLease(LIKE_WRITER_LEASE_NAME, LIKE_WRITER_LEASE_TTL);
+        if (lease == null) {
+            return;
+        }
+        try {
+            int applied = portfolioLikeBufferService.flush(lease); // 읽기/Ack마다 임대 값을 확인하여 이전 리더와 겹쳐 반영하지 않음
+            if (applied > 0) {
+                meterRegistry.counter("batch.flush.rows", "job", LIKE_WRITER_LEASE_NAME, "column", "PORTFOLIO_LIKE").increment(applied);
+                log.debug("Applied {} buffered likes.", applied);
+            }
+        } catch (Exception e) {
+            meterRegistry.counter("batch.flush.failures", "job", LIKE_WRITER_LEASE_NAME, "column", "PORTFOLIO_LIKE").increment();
+            log.error("관심 Write-Behind 반영 실패 (미처리 항목은 다음 실행에서 재처리)", e);
+        }
+    }
+
+    private Lease acquireLease() {
+        return acquireLease(LEASE_NAME, LEASE_TTL);
+    }
+
+    private Lease acquireLease(String name, Duration ttl) {
+        Lease lease = null;
+        try {
+            lease = leaderLease.tryAcquire(name, ttl);
+        } catch (Exception e) {
+            log.error("리더 임대 획득 실패 - {}", name, e);
+        }
+        meterRegistry.counter("batch.run", "job", name, "result", lease != null ? "leader" : "skipped").increment();
+        return lease;
+    }
+
     // 조회수 동기화 로직
-    private void syncViewCounts() {
-        // [추가 팁] 분산 환경(K8s) 고려: rename 전 키 존재 확인은 원자적이지 않음.
-        // rename 자체가 실패하면 Exception이 발생하므로 try-catch로 감싸는 것이 안전함.
+    private void syncViewCounts(Lease lease, Set<Long> changedIds) {
         try {
-            if (Boolean.TRUE.equals(redisTemplate.hasKey(VIEW_BACKUP_KEY))) {
-                redisTemplate.rename(VIEW_BACKUP_KEY, VIEW_SYNC_KEY);
-
-                Map<Object, Object> viewCounts = redisTemplate.opsForHash().entries(VIEW_SYNC_KEY);
-                if (!viewCounts.isEmpty()) {
-                    for (Map.Entry<Object, Object> entry : viewCounts.entrySet()) {
-                        try {
-                            Long portfolioId = Long.parseLong((String) entry.getKey());
-                            Long count = Long.parseLong((String) entry.getValue());
-                            // 여기서는 이제 트랜잭션이 유지됨
-                            updateViewCountInDb(portfolioId, count);
-                        } catch (Exception e) {
-                            log.error("조회수 배치 처리 실패 ID: {}", entry.getKey(), e);
-                        }
+            if (!drain(VIEW_BACKUP_KEY, VIEW_SYNC_KEY, lease)) {
+                return;
+            }
+
+            Map<Object, Object> viewCounts = redisTemplate.opsForHash().entries(VIEW_SYNC_KEY);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<Object, Object> entry : viewCounts.entrySet()) {
+                    try {
+                        Long portfolioId = Long.parseLong((String) entry.getKey());
+                        Long count = Long.parseLong((String) entry.getValue());
+                        updateViewCountInDb(portfolioId, count);
+                        changedIds.add(portfolioId);
+                    } catch (Exception e) {
+                        log.error("조회수 배치 처리 실패 ID: {}", entry.getKey(), e);
                     }
                 }
-                redisTemplate.delete(VIEW_SYNC_KEY);
-                log.info("Synced {} portfolios view counts.", viewCounts.size());
-            }
+            });
+
+            // 커밋 이후 삭제 (커밋 전에 실패하면 sync 키가 남아 다음 실행에서 재처리)
+            redisTemplate.delete(VIEW_SYNC_KEY);
+            meterRegistry.counter("batch.flush.rows", "job", LEASE_NAME, "column", "VIEW_COUNT").increment(viewCounts.size());
+            log.info("Synced {} portfolios view counts.", viewCounts.size());
         } catch (Exception e) {
-            // 키가 없거나, 다른 인스턴스가 이미 가져간 경우 무시
-            log.debug("View sync skipped or failed: {}", e.getMessage());
+            meterRegistry.counter("batch.flush.failures", "job", LEASE_NAME, "column", "VIEW_COUNT").increment();
+            log.error("조회수 동기화 실패 (미처리분은 다음 실행에서 재처리)", e);
         }
     }
 
     // 좋아요 수 동기화 로직
-    private void syncLikeCounts() {
+    private void syncLikeCounts(Lease lease, Set<Long> changedIds) {
         try {
-            if (Boolean.TRUE.equals(redisTemplate.hasKey(LIKE_BATCH_KEY))) {
-                redisTemplate.rename(LIKE_BATCH_KEY, LIKE_SYNC_KEY);
-
-                Map<Object, Object> likeDeltas = redisTemplate.opsForHash().entries(LIKE_SYNC_KEY);
-                if (!likeDeltas.isEmpty()) {
-                    for (Map.Entry<Object, Object> entry : likeDeltas.entrySet()) {
-                        try {
-                            Long portfolioId = Long.parseLong((String) entry.getKey());
-                            Long delta = Long.parseLong((String) entry.getValue());
-                            if (delta != 0) {
-                                updateLikeCountInDb(portfolioId, delta);
-                            }
-                        } catch (Exception e) {
-                            log.error("좋아요 배치 처리 실패 ID: {}", entry.getKey(), e);
+            if (!drain(LIKE_BATCH_KEY, LIKE_SYNC_KEY, lease)) {
+                return;
+            }
+
+            Map<Object, Object> likeDeltas = redisTemplate.opsForHash().entries(LIKE_SYNC_KEY);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<Object, Object> entry : likeDeltas.entrySet()) {
+                    try {
+                        Long portfolioId = Long.parseLong((String) entry.getKey());
+                        Long delta = Long.parseLong((String) entry.getValue());
+                        if (delta != 0) {
+                            updateLikeCountInDb(portfolioId, delta);
+                            changedIds.add(portfolioId);
                         }
+                    } catch (Exception e) {
+                        log.error("좋아요 배치 처리 실패 ID: {}", entry.getKey(), e);
                     }
                 }
-                redisTemplate.delete(LIKE_SYNC_KEY);
-                log.info("Synced {} portfolios like counts.", likeDeltas.size());
-            }
+            });
+
+            redisTemplate.delete(LIKE_SYNC_KEY);
+            meterRegistry.counter("batch.flush.rows", "job", LEASE_NAME, "column", "LIKE_COUNT").increment(likeDeltas.size());
+            log.info("Synced {} portfolios like counts.", likeDeltas.size());
         } catch (Exception e) {
-            log.debug("Like sync skipped or failed: {}", e.getMessage());
+            meterRegistry.counter("batch.flush.failures", "job", LEASE_NAME, "column", "LIKE_COUNT").increment();
+            log.error("좋아요 수 동기화 실패 (미처리분은 다음 실행에서 재처리)", e);
         }
     }
 
-    // 아래 메서드들의 @Transactional은 yncCountsAndCalculateScore의 트랜잭션에 합류
+    // 증분 Hash를 sync 키로 이동 (처리할 sync 키가 있으면 true)
+    private boolean drain(String batchKey, String syncKey, Lease lease) {
+        Long drained = redisTemplate.execute(DRAIN_SCRIPT, Arrays.asList(batchKey, syncKey, lease.getKey()), lease.getValue());
+        if (Long.valueOf(-1L).equals(drained)) {
+            log.warn("리더 임대 상실로 Drain 중단 - Key: {}, fencingToken: {}", batchKey, lease.getFencingToken());
+        }
+        return Long.valueOf(1L).equals(drained);
+    }
+
+    // 아래 메서드들은 sync*Counts의 TransactionTemplate 트랜잭션 안에서 실행됨
     private void updateViewCountInDb(Long portfolioId, Long count) {
         portfolioRepository.incrementViewCount(portfolioId, count);
     }
@@ -103,7 +205,16 @@ public class PortfolioBatchScheduler {
         portfolioRepository.updateLikeCount(portfolioId, delta);
     }
 
-    private void updatePopularityScoresInDb() {
-        portfolioRepository.updateAllPopularityScores();
+    // 인기 점수 재계산 (전체 UPDATE 대신 증분 발생분 + 감쇠 순서가 돌아온 청크만)
+    private void updatePopularityScores(Set<Long> changedIds) {
+        try {
+            int changed = portfolioRankingService.refreshScores(changedIds);
+            int decayed = portfolioRankingService.runDecayPass();
+            meterRegistry.counter("batch.flush.rows", "job", LEASE_NAME, "column", "POPULARITY_SCORE").increment(changed + decayed);
+            log.info("Popularity scores refreshed. changed: {}, decayed: {}", changed, decayed);
+        } catch (Exception e) {
+            meterRegistry.counter("batch.flush.failures", "job", LEASE_NAME, "column", "POPULARITY_SCORE").increment();
+            log.error("인기 점수 재계산 실패", e);
+        }
     }
 }
\ No newline at end of file
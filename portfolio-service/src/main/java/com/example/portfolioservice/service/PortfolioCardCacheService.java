@@ -0,0 +1,238 @@
+package com.example.portfolioservice.service;
+
+import com.example.portfolioservice.dto.response.PortfolioCardResponse;
+import com.example.portfolioservice.repository.PortfolioRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 포트폴리오 카드(목록 1건) 2단계 캐시 (L1: Caffeine, L2: Redis "portfolio:card:{id}")
+ * ㄴ 목록 쿼리는 ID만 조회하고(커버링 인덱스), 카드 내용은 이 캐시에서 일괄 조회(MGET)하여 채운다.
+ * ㄴ 캐시에 없는 카드만 IN 쿼리 한 번으로 DB에서 조회한 뒤 파이프라인으로 저장한다.
+ * ㄴ 무효화 시 Redis 키 삭제 후 Pub/Sub 채널로 portfolioId를 발행하여 모든 Pod의 L1을 비운다.
+ * ㄴ 조회수/좋아요 수는 배치 동기화 전까지 DB 값이 뒤처지므로, 반환 직전에 실시간 통계 Hash("portfolio:stats:{id}") 값으로 덮어쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioCardCacheService {
+
+    public static final String INVALIDATION_CHANNEL = "portfolio:card:invalidate";
+
+    private final PortfolioRepository portfolioRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String CARD_KEY_PREFIX = "portfolio:card:";
+    private static final String STATS_KEY_PREFIX = "portfolio:stats:";
+    private static final List<Object> STATS_FIELDS = List.of("viewCount", "likeCount");
+    private static final Duration REDIS_TTL = Duration.ofMinutes(30);
+
+    // Pub/Sub 메시지 유실 대비 안전장치로 TTL을 짧게 둠
+    private final Cache<Long, PortfolioCardResponse> localCache = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
+    /**
+     * ID 목록 순서대로 카드 조회 (L1 -> L2(MGET) -> DB(IN) 순)
+     * ㄴ 비공개 전환/삭제 등으로 DB에도 없는 카드는 결과에서 제외
+     * ㄴ 반환 객체는 매번 복사본이므로 호출 측에서 좋아요 여부 등을 덮어써도 캐시가 오염되지 않음
+     */
+    public List<PortfolioCardResponse> getCards(List<Long> portfolioIds) {
+        if (portfolioIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, PortfolioCardResponse> cards = new HashMap<>();
+
+        // 1. L1 (In-Process)
+        List<Long> localMisses = new ArrayList<>();
+        for (Long portfolioId : portfolioIds) {
+            PortfolioCardResponse cached = localCache.getIfPresent(portfolioId);
+            if (cached != null) {
+                cards.put(portfolioId, cached);
+            } else {
+                localMisses.add(portfolioId);
+            }
+        }
+
+        // 2. L2 (Redis MGET 1회)
+        List<Long> redisMisses = readFromRedis(localMisses, cards);
+
+        // 3. Cache Miss -> DB (IN 쿼리 1회) 후 캐싱
+        if (!redisMisses.isEmpty()) {
+            List<PortfolioCardResponse> loaded = portfolioRepository.findCardsByIds(redisMisses);
+            for (PortfolioCardResponse card : loaded) {
+                cards.put(card.getPortfolioId(), card);
+                localCache.put(card.getPortfolioId(), card);
+            }
+            writeToRedis(loaded);
+        }
+
+        List<PortfolioCardResponse> result = portfolioIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .map(card -> card.toBuilder().build())
+                .collect(Collectors.toList());
+
+        // 4. 실시간 통계 병합 (상세 페이지와 같은 값을 보여주기 위함)
+        mergeLiveStats(result);
+        return result;
+    }
+
+    /**
+     * 카드 목록의 조회수/좋아요 수를 Redis 실시간 통계로 덮어쓰기 (파이프라인 HMGET, 1회 왕복)
+     * ㄴ 통계 Hash가 아직 없는 카드(상세 조회가 없었던 포트폴리오)는 DB 값을 그대로 사용
+     */
+    public void mergeLiveStats(List<PortfolioCardResponse> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (PortfolioCardResponse card : cards) {
+                        operations.opsForHash().multiGet(STATS_KEY_PREFIX + card.getPortfolioId(), STATS_FIELDS);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("[PortfolioCardCache] 실시간 통계 조회 실패. DB 값으로 응답합니다.", e);
+            return;
+        }
+
+        for (int i = 0; i < cards.size(); i++) {
+            if (!(results.get(i) instanceof List<?> stats) || stats.size() < 2) continue;
+            PortfolioCardResponse card = cards.get(i);
+            if (stats.get(0) != null) {
+                card.setViewCount(Long.parseLong(stats.get(0).toString()));
+            }
+            if (stats.get(1) != null) {
+                card.setLikeCount(Long.parseLong(stats.get(1).toString()));
+            }
+        }
+    }
+
+    /**
+     * 카드 캐시 무효화 (Redis 삭제 + 전체 Pod L1 무효화 브로드캐스트)
+     * ㄴ 트랜잭션 안에서 호출되면 커밋 이후에 삭제 (커밋 전 삭제 시 다른 요청이 옛 데이터를 다시 캐싱할 수 있음)
+     */
+    public void evict(Long portfolioId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(portfolioId);
+                }
+            });
+        } else {
+            evictNow(portfolioId);
+        }
+    }
+
+    // RedisConfig의 MessageListenerAdapter가 호출 (다른 Pod에서 발행한 무효화 메시지 수신)
+    public void handleInvalidation(String message) {
+        try {
+            localCache.invalidate(Long.parseLong(message));
+        } catch (NumberFormatException e) {
+            log.warn("[PortfolioCardCache] 잘못된 무효화 메시지: {}", message);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private void evictNow(Long portfolioId) {
+        localCache.invalidate(portfolioId);
+        try {
+            redisTemplate.delete(CARD_KEY_PREFIX + portfolioId);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(portfolioId));
+        } catch (Exception e) {
+            log.error("[PortfolioCardCache] 무효화 실패. PortfolioId: {}", portfolioId, e);
+        }
+    }
+
+    // Redis에서 찾은 카드는 cards/L1에 채우고, 찾지 못한 ID 목록을 반환
+    private List<Long> readFromRedis(List<Long> portfolioIds, Map<Long, PortfolioCardResponse> cards) {
+        if (portfolioIds.isEmpty()) {
+            return portfolioIds;
+        }
+
+        List<String> keys = portfolioIds.stream().map(id -> CARD_KEY_PREFIX + id).toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < portfolioIds.size(); i++) {
+            Long portfolioId = portfolioIds.get(i);
+            String json = (values != null) ? values.get(i) : null;
+            PortfolioCardResponse card = parse(portfolioId, json);
+            if (card != null) {
+                cards.put(portfolioId, card);
+                localCache.put(portfolioId, card);
+            } else {
+                misses.add(portfolioId);
+            }
+        }
+        return misses;
+    }
+
+    private PortfolioCardResponse parse(Long portfolioId, String json) {
+        if (!StringUtils.hasText(json)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, PortfolioCardResponse.class);
+        } catch (JsonProcessingException e) {
+            log.error("[PortfolioCardCache] JSON Parsing Error. PortfolioId: {}", portfolioId, e);
+            return null;
+        }
+    }
+
+    // 여러 카드를 파이프라인 1회로 저장 (SET + TTL)
+    private void writeToRedis(List<PortfolioCardResponse> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (PortfolioCardResponse card : cards) {
+            try {
+                values.put(CARD_KEY_PREFIX + card.getPortfolioId(), objectMapper.writeValueAsString(card));
+            } catch (JsonProcessingException e) {
+                log.error("[PortfolioCardCache] Redis Set Error. PortfolioId: {}", card.getPortfolioId(), e);
+            }
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                values.forEach((key, json) -> operations.opsForValue().set(key, json, REDIS_TTL));
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.portfolioservice.service;
+
+import com.example.portfolioservice.dto.response.PortfolioDetailsResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포트폴리오 상세 정적 데이터 2단계 캐시 (L1: Caffeine, L2: Redis "portfolio:details:{id}")
+ * ㄴ 자주 조회되는 포트폴리오는 Redis 왕복 + JSON 역직렬화 없이 Pod 메모리에서 바로 응답한다.
+ * ㄴ 무효화 시 Redis 키 삭제 후 Pub/Sub 채널로 portfolioId를 발행하여 모든 Pod의 L1을 비운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioDetailCacheService {
+
+    public static final String INVALIDATION_CHANNEL = "portfolio:details:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String STATIC_KEY_PREFIX = "portfolio:details:";
+
+    public static String cacheKey(Long portfolioId) {
+        return STATIC_KEY_PREFIX + portfolioId;
+    }
+
+    // Pub/Sub 메시지 유실 대비 안전장치로 TTL을 짧게 둠
+    private final Cache<Long, PortfolioDetailsResponse> localCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
+    /**
+     * L1(In-Process) 조회
+     * ㄴ 반환 객체는 매번 복사본이므로 호출 측에서 조회수/좋아요 값을 덮어써도 캐시가 오염되지 않음
+     */
+    public PortfolioDetailsResponse getLocal(Long portfolioId) {
+        PortfolioDetailsResponse cached = localCache.getIfPresent(portfolioId);
+        return cached != null ? cached.toBuilder().build() : null;
+    }
+
+    /**
+     * L2(Redis) 조회 결과로 정적 데이터 복원 (L1 Miss 이후 호출)
+     * ㄴ Redis 값은 호출 측에서 통계 조회와 같은 왕복으로 미리 읽어 전달하고, 값이 없으면 DB 조회 후 캐싱
+     */
+    public PortfolioDetailsResponse resolve(Long portfolioId, String cachedJson, Supplier<PortfolioDetailsResponse> dbLoader) {
+        // Cache Hit -> Redis 조회
+        if (StringUtils.hasText(cachedJson)) {
+            try {
+                PortfolioDetailsResponse response = objectMapper.readValue(cachedJson, PortfolioDetailsResponse.class);
+                localCache.put(portfolioId, response);
+                return response.toBuilder().build();
+            } catch (JsonProcessingException e) {
+                log.error("JSON 파싱 에러. DB에서 다시 조회합니다.", e);
+            }
+        }
+
+        // Cache Miss -> DB 조회
+        PortfolioDetailsResponse response = dbLoader.get();
+
+        // Redis 저장 (TTL 1시간)
+        try {
+            redisTemplate.opsForValue().set(cacheKey(portfolioId), objectMapper.writeValueAsString(response), 1, TimeUnit.HOURS);
+        } catch (JsonProcessingException e) {
+            log.error("Redis 저장 실패", e);
+        }
+        localCache.put(portfolioId, response);
+        return response.toBuilder().build();
+    }
+
+    /**
+     * 상세 캐시 무효화 (Redis 삭제 + 전체 Pod L1 무효화 브로드캐스트)
+     * ㄴ 트랜잭션 안에서 호출되면 커밋 이후에 삭제 (커밋 전 삭제 시 다른 요청이 옛 데이터를 다시 캐싱할 수 있음)
+     */
+    public void evict(Long portfolioId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(portfolioId);
+                }
+            });
+        } else {
+            evictNow(portfolioId);
+        }
+    }
+
+    // RedisConfig의 MessageListenerAdapter가 호출 (다른 Pod에서 발행한 무효화 메시지 수신)
+    public void handleInvalidation(String message) {
+        try {
+            localCache.invalidate(Long.parseLong(message));
+        } catch (NumberFormatException e) {
+            log.warn("[PortfolioDetailCache] 잘못된 무효화 메시지: {}", message);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private void evictNow(Long portfolioId) {
+        localCache.invalidate(portfolioId);
+        try {
+            redisTemplate.delete(cacheKey(portfolioId));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(portfolioId));
+        } catch (Exception e) {
+            log.error("[PortfolioDetailCache] 무효화 실패. PortfolioId: {}", portfolioId, e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.portfolioservice.service;
+
+import com.example.commonmodule.redis.ToggleMembershipIndex;
+import com.example.commonmodule.redis.ToggleWriteBehindBuffer;
+import com.example.portfolioservice.repository.PortfolioLikeBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 관심(좋아요) Write-Behind 버퍼 (app.write-behind.enabled=true 일 때 사용)
+ * ㄴ 토글 시 MySQL에 바로 쓰지 않고, 사용자별 관심 Set + Redis Stream에만 기록한다. (Lua 1회, DB 커넥션 X)
+ * ㄴ 스케줄러(리더 1대)가 Stream을 읽어 같은 (사용자, 포트폴리오)의 상반된 토글을 최종 상태로 합친 뒤 JDBC 배치로 반영한다. (ToggleWriteBehindBuffer)
+ * ㄴ 좋아요 수는 portfolio:likes:delta를 거치지 않고, 반영 시 실제로 추가/삭제된 행 기준으로 같은 트랜잭션에서 증감한다.
+ * ㄴ 관심 여부는 사용자별 Set(PortfolioLikeMembershipService)에서 조회하므로 DB 반영 전에도 본인 화면에는 즉시 반영된다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "portfolio:likes:stream" (STREAM - u: userId, p: portfolioId, d: +1/-1, c: 실시간 통계에 더한 값 (portfolio:stats Hash가 없었으면 0))
+ * ㄴ 2) "portfolio:likes:user:{userId}:pending" (STRING - 미반영 토글 수, ToggleMembershipIndex 참고)
+ */
+@Service
+@Slf4j
+public class PortfolioLikeBufferService extends ToggleWriteBehindBuffer {
+
+    private final PortfolioLikeMembershipService portfolioLikeMembershipService;
+    private final PortfolioLikeBatchRepository portfolioLikeBatchRepository;
+    private final PortfolioRankingService portfolioRankingService;
+
+    @Value("${app.write-behind.enabled:false}")
+    private boolean enabled;
+
+    private static final String STREAM_KEY = "portfolio:likes:stream";
+    private static final String CONSUMER_GROUP = "portfolio-like-writer";
+    private static final String STATS_KEY_PREFIX = "portfolio:stats:";
+
+    // 관심 토글 (Set 변경 + 실시간 통계 증감 + Stream 기록 + 미반영 토글 수 증가를 원자적으로 처리)
+    // ㄴ KEYS[1]: 사용자 Set, KEYS[2]: Stream, KEYS[3]: portfolio:stats:{id}, KEYS[4]: 미반영 토글 수
+    // ㄴ ARGV[1]: portfolioId, ARGV[2]: userId, ARGV[3]: +1/-1, ARGV[4]: Set TTL
+    // ㄴ 반환: 1(변경됨), 0(이미 같은 상태), -1(Set 미로드 - 호출 측에서 DB 로드 후 재시도)
+    // ㄴ 통계 Hash가 없어 증감하지 않았으면 c=0으로 기록 (flush 시 실제로 더한 값만큼만 보정)
+    private static final RedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local changed " +
+            "if ARGV[3] == '1' then changed = redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "else changed = redis.call('SREM', KEYS[1], ARGV[1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+            "if changed == 0 then return 0 end " +
+            "local c = 0 " +
+            "if redis.call('HEXISTS', KEYS[3], 'likeCount') == 1 then " +
+            "  redis.call('HINCRBY', KEYS[3], 'likeCount', ARGV[3]) " +
+            "  c = ARGV[3] " +
+            "end " +
+            "redis.call('XADD', KEYS[2], '*', 'u', ARGV[2], 'p', ARGV[1], 'd', ARGV[3], 'c', c) " +
+            "redis.call('INCR', KEYS[4]) " +
+            "redis.call('EXPIRE', KEYS[4], ARGV[4]) " +
+            "return 1",
+            Long.class);
+
+    public PortfolioLikeBufferService(PortfolioLikeMembershipService portfolioLikeMembershipService,
+                                      PortfolioLikeBatchRepository portfolioLikeBatchRepository,
+                                      PortfolioRankingService portfolioRankingService,
+                                      StringRedisTemplate redisTemplate,
+                                      TransactionTemplate transactionTemplate) {
+        super(redisTemplate, transactionTemplate, portfolioLikeMembershipService, STREAM_KEY, CONSUMER_GROUP, STATS_KEY_PREFIX, "likeCount");
+        this.portfolioLikeMembershipService = portfolioLikeMembershipService;
+        this.portfolioLikeBatchRepository = portfolioLikeBatchRepository;
+        this.portfolioRankingService = portfolioRankingService;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * 관심 등록/취소를 버퍼에 기록
+     * @return 실제로 상태가 바뀌었으면 true (이미 같은 상태면 false)
+     */
+    public boolean toggle(Long userId, Long portfolioId, boolean like) {
+        Long result = executeToggle(userId, portfolioId, like);
+        if (result != null && result < 0) {
+            portfolioLikeMembershipService.ensureLoaded(userId);
+            result = executeToggle(userId, portfolioId, like);
+        }
+
+        boolean changed = result != null && result > 0;
+        if (changed) {
+            portfolioLikeMembershipService.invalidate(userId);
+        }
+        return changed;
+    }
+
+    //===================//
+    //== DB 반영 (Flush) ==//
+    //===================//
+
+    @Override
+    protected Set<String> findExisting(List<long[]> pairs) {
+        Set<String> existing = new HashSet<>();
+        for (long[] row : portfolioLikeBatchRepository.findExisting(pairs)) {
+            existing.add(pairKey(row[0], row[1]));
+        }
+        return existing;
+    }
+
+    @Override
+    protected void applyChanges(List<long[]> inserts, List<long[]> deletes, List<long[]> countDeltas) {
+        portfolioLikeBatchRepository.insertAll(inserts);
+        portfolioLikeBatchRepository.deleteAll(deletes);
+        portfolioLikeBatchRepository.addLikeCounts(countDeltas);
+    }
+
+    // 좋아요 수가 바뀐 포트폴리오의 인기 점수 재계산 (portfolio:likes:delta를 거치지 않으므로 배치 증분 반영 대상에 포함되지 않음)
+    @Override
+    protected void afterFlush(Set<Long> userIds, List<long[]> countDeltas) {
+        if (countDeltas.isEmpty()) {
+            return;
+        }
+        List<Long> portfolioIds = new ArrayList<>(countDeltas.size());
+        countDeltas.forEach(delta -> portfolioIds.add(delta[0]));
+        try {
+            portfolioRankingService.refreshScores(portfolioIds);
+        } catch (Exception e) {
+            log.warn("[PortfolioLikeBuffer] 인기 점수 반영 실패 (감쇠 반영 주기에 재계산됨)", e);
+        }
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private Long executeToggle(Long userId, Long portfolioId, boolean like) {
+        return redisTemplate.execute(TOGGLE_SCRIPT,
+                Arrays.asList(portfolioLikeMembershipService.setKey(userId), STREAM_KEY, STATS_KEY_PREFIX + portfolioId,
+                        portfolioLikeMembershipService.pendingKey(userId)),
+                String.valueOf(portfolioId), String.valueOf(userId), like ? "1" : "-1", String.valueOf(ToggleMembershipIndex.SET_TTL_SECONDS));
+    }
+}
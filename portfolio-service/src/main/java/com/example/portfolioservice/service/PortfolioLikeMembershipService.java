@@ -0,0 +1,46 @@
+package com.example.portfolioservice.service;
+
+import com.example.commonmodule.redis.ToggleMembershipIndex;
+import com.example.portfolioservice.repository.PortfolioLikeRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 사용자별 관심(좋아요) 포트폴리오 ID 집합 (L1: Bloom Filter, L2: Redis Set - ToggleMembershipIndex)
+ *
+ * [Key 규칙]
+ * ㄴ 1) "portfolio:likes:user:{userId}" (SET - 관심 누른 portfolioId 목록, 로드 완료 표시용 멤버 "0" 포함)
+ * ㄴ 2) "portfolio:likes:user:{userId}:ver" (STRING - 변경 버전)
+ */
+@Service
+public class PortfolioLikeMembershipService extends ToggleMembershipIndex {
+
+    public static final String INVALIDATION_CHANNEL = "portfolio:likes:user:invalidate";
+
+    private final PortfolioLikeRepository portfolioLikeRepository;
+
+    private static final String USER_LIKES_KEY_PREFIX = "portfolio:likes:user:";
+
+    public PortfolioLikeMembershipService(PortfolioLikeRepository portfolioLikeRepository, StringRedisTemplate redisTemplate) {
+        super(redisTemplate, USER_LIKES_KEY_PREFIX, INVALIDATION_CHANNEL);
+        this.portfolioLikeRepository = portfolioLikeRepository;
+    }
+
+    public boolean isLiked(Long userId, Long portfolioId) {
+        return contains(userId, portfolioId);
+    }
+
+    // 목록 페이지의 포트폴리오 중 관심 누른 ID
+    public Set<Long> findLikedIds(Long userId, Collection<Long> portfolioIds) {
+        return findContained(userId, portfolioIds);
+    }
+
+    @Override
+    protected List<Long> loadTargetIds(Long userId) {
+        return portfolioLikeRepository.findAllLikedPortfolioIds(userId);
+    }
+}
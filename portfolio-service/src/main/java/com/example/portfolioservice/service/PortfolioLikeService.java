@@ -2,77 +2,109 @@ package com.example.portfolioservice.service;
 
 import com.example.commonmodule.exception.BusinessException;
 import com.example.portfolioservice.dto.response.PortfolioCardResponse;
-import com.example.portfolioservice.entity.PortfolioEntity;
-import com.example.portfolioservice.entity.PortfolioLikeEntity;
 import com.example.portfolioservice.exception.ErrorCode;
 import com.example.portfolioservice.repository.PortfolioLikeRepository;
 import com.example.portfolioservice.repository.PortfolioRepository;
 import com.example.portfolioservice.util.PortfolioMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 @Slf4j
 public class PortfolioLikeService {
 
     private final PortfolioRepository portfolioRepository;
     private final PortfolioLikeRepository portfolioLikeRepository;
     private final StringRedisTemplate redisTemplate;
+    private final PortfolioRankingService portfolioRankingService;
+    private final PortfolioCardCacheService portfolioCardCacheService;
+    private final PortfolioLikeBufferService portfolioLikeBufferService;
+    private final PortfolioLikeMembershipService portfolioLikeMembershipService;
+    private final TransactionTemplate transactionTemplate;
 
     // 실시간 조회용 (화면에 보여지는 값)
     private static final String STATS_KEY_PREFIX = "portfolio:stats:";
     // 배치 동기화용 (DB에 반영할 증감분)
     private static final String LIKE_BATCH_KEY = "portfolio:likes:delta";
 
+    // 좋아요 증감 반영 (실시간 통계는 필드가 있을 때만 증감, 없으면 다음 상세 조회 시 DB 값으로 초기화됨)
+    // ㄴ KEYS[1]: portfolio:stats:{id}, KEYS[2]: portfolio:likes:delta / ARGV[1]: portfolioId, ARGV[2]: 증감값
+    private static final RedisScript<Long> LIKE_DELTA_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'likeCount') == 1 then " +
+            "  redis.call('HINCRBY', KEYS[1], 'likeCount', ARGV[2]) " +
+            "end " +
+            "redis.call('HINCRBY', KEYS[2], ARGV[1], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
     /**
      * 포트폴리오 북마크 추가
+     * ㄴ Write-Behind 모드에서는 DB에 바로 쓰지 않고 Redis 버퍼에만 기록 (메서드 전체에 트랜잭션을 걸지 않아 커넥션을 잡지 않음)
      */
     public void addLike(Long authUserId, Long portfolioId) {
-        // 1. 검증
-        PortfolioEntity portfolio = portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
-
-        // 중복 체크 (DB 조회는 필요하지만, Parent Row Lock은 걸리지 않음)
-        if (portfolioLikeRepository.existsByLikerIdAndPortfolio(authUserId, portfolio)) {
+        if (portfolioLikeBufferService.isEnabled()) {
+            // 발행된 포트폴리오인지 카드 캐시로 확인 (캐시 Hit 시 DB 조회 X)
+            PortfolioCardResponse card = findCard(portfolioId);
+            if (card == null) {
+                throw new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND);
+            }
+            if (portfolioLikeBufferService.toggle(authUserId, portfolioId, true)) {
+                portfolioRankingService.onLikeChanged(portfolioId, card.getPosition(), card.getLastModifiedAt(), 1);
+            }
             return;
         }
 
-        // 2. DB 반영 (자식 테이블 Insert만 수행 -> Parent Lock 없음)
-        portfolioLikeRepository.save(PortfolioLikeEntity.of(authUserId, portfolio));
+        // 1. DB 반영 (사전 조회 없이 INSERT 1회 - 유니크 제약으로 중복 삽입 방지)
+        // ㄴ FK 검사로 portfolio 행에 공유 잠금(S Lock)이 걸리므로, 같은 포트폴리오 행을 수정하는 트랜잭션과는 대기가 생길 수 있음
+        try {
+            transactionTemplate.execute(status -> portfolioLikeRepository.insertLike(authUserId, portfolioId));
+        } catch (DataIntegrityViolationException e) {
+            // FK 위반(포트폴리오 없음)만 예외, 유니크 위반(이미 관심 등록)은 무시 (위반 종류는 실패했을 때만 확인)
+            if (!portfolioRepository.existsById(portfolioId)) {
+                throw new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND);
+            }
+            return;
+        }
 
-        // 3. Redis 반영
-        // A. 실시간 조회용 값 증가 (+1)
-        redisTemplate.opsForHash().increment(STATS_KEY_PREFIX + portfolioId, "likeCount", 1L);
-        // B. 배치 동기화용 Delta 값 증가 (+1)
-        redisTemplate.opsForHash().increment(LIKE_BATCH_KEY, String.valueOf(portfolioId), 1L);
+        // 2. Redis 반영 (실제로 삽입된 경우에만)
+        portfolioLikeMembershipService.onChanged(authUserId, portfolioId, true);
+        applyLikeDelta(portfolioId, 1);
     }
 
     /**
      * 포트폴리오 북마크 취소 (DB + Redis 동시 업데이트)
      */
     public void removeLike(Long authUserId, Long portfolioId) {
-        PortfolioEntity portfolio = portfolioRepository.getReferenceById(portfolioId);
-
-        PortfolioLikeEntity portfolioLike = portfolioLikeRepository.findByLikerIdAndPortfolio(authUserId, portfolio)
-                .orElse(null);
-
-        if (portfolioLike == null) return;
+        if (portfolioLikeBufferService.isEnabled()) {
+            if (portfolioLikeBufferService.toggle(authUserId, portfolioId, false)) {
+                updateRanking(portfolioId, -1);
+            }
+            return;
+        }
 
-        // 2. DB 반영 (자식 테이블 Delete만 수행)
-        portfolioLikeRepository.delete(portfolioLike);
+        // 1. DB 반영 (DELETE 1회 - 삭제된 행이 없으면 이미 취소된 상태)
+        Integer deleted = transactionTemplate.execute(status -> portfolioLikeRepository.deleteByLikerIdAndPortfolioId(authUserId, portfolioId));
+        if (deleted == null || deleted == 0) {
+            return;
+        }
 
-        // 3. Redis 반영
-        // A. 실시간 조회용 값 감소 (-1)
-        redisTemplate.opsForHash().increment(STATS_KEY_PREFIX + portfolioId, "likeCount", -1L);
-        // B. 배치 동기화용 Delta 값 감소 (-1)
-        redisTemplate.opsForHash().increment(LIKE_BATCH_KEY, String.valueOf(portfolioId), -1L);
+        // 2. Redis 반영 (실제로 삭제된 경우에만)
+        portfolioLikeMembershipService.onChanged(authUserId, portfolioId, false);
+        applyLikeDelta(portfolioId, -1);
     }
 
     /**
@@ -80,6 +112,37 @@ public class PortfolioLikeService {
      */
     @Transactional(readOnly = true)
     public Slice<PortfolioCardResponse> getMyLikedPortfolios(Long authUserId, String position, Pageable pageable) {
-        return portfolioLikeRepository.searchMyLikedPortfolios(authUserId, position, pageable);
+        // ID만 조회 후 카드 내용은 캐시에서 일괄 조회
+        Slice<Long> ids = portfolioLikeRepository.searchMyLikedPortfolioIds(authUserId, position, pageable);
+        List<PortfolioCardResponse> cards = portfolioCardCacheService.getCards(ids.getContent());
+        cards.forEach(card -> card.setLiked(true));
+        return new SliceImpl<>(cards, pageable, ids.hasNext());
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private void applyLikeDelta(Long portfolioId, int delta) {
+        // A. 실시간 조회용 값 + B. 배치 동기화용 Delta 값 (Redis 1회 왕복)
+        redisTemplate.execute(LIKE_DELTA_SCRIPT,
+                Arrays.asList(STATS_KEY_PREFIX + portfolioId, LIKE_BATCH_KEY),
+                String.valueOf(portfolioId), String.valueOf(delta));
+
+        // C. 인기순 랭킹 점수 반영
+        updateRanking(portfolioId, delta);
+    }
+
+    // 직군/수정일은 카드 캐시에서 조회 (비공개 포트폴리오는 랭킹 대상이 아님)
+    private void updateRanking(Long portfolioId, int delta) {
+        PortfolioCardResponse card = findCard(portfolioId);
+        if (card != null) {
+            portfolioRankingService.onLikeChanged(portfolioId, card.getPosition(), card.getLastModifiedAt(), delta);
+        }
+    }
+
+    private PortfolioCardResponse findCard(Long portfolioId) {
+        List<PortfolioCardResponse> cards = portfolioCardCacheService.getCards(List.of(portfolioId));
+        return cards.isEmpty() ? null : cards.get(0);
     }
-}
\ No newline at end of file
+}
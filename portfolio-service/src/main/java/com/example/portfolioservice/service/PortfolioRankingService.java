@@ -0,0 +1,286 @@
+package com.example.portfolioservice.service;
+
+import com.example.portfolioservice.dto.response.PortfolioCardResponse;
+import com.example.portfolioservice.repository.PortfolioRepository;
+import com.querydsl.core.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 포트폴리오 인기순 랭킹 (Redis ZSET)
+ * ㄴ 인기 점수는 (조회수 + 좋아요 * 50) * 1000 / (경과 시간 + 2)^1.5 로, 증분이 없어도 시간이 지나면 감소한다.
+ * ㄴ 매 주기 전체 테이블을 UPDATE 하지 않고, 아래 두 경로로 필요한 행만 재계산하여 ZSET에 반영한다.
+ * ㄴ 1) 증분 반영 : 이번 주기에 조회수/좋아요 증분이 발생한 포트폴리오
+ * ㄴ 2) 감쇠 반영 : PK 순서로 CHUNK_SIZE씩 돌아가며 재계산 (실행마다 DECAY_CHUNKS_PER_RUN 청크, 끝에 도달하면 처음부터)
+ * ㄴ 좋아요/조회 시에는 현재 시간 가중치로 환산한 점수 증가분을 ZSET에 바로 더해 배치 주기 사이에도 순위가 반영되도록 한다.
+ *    (조회는 PortfolioService의 상세 조회 Lua 스크립트에서 함께 반영하여 추가 왕복이 없도록 함)
+ * ㄴ 직군 ZSET은 직군 이름이 자유 입력이라 전부 순회할 수 없으므로, 포트폴리오별로 마지막에 넣은 직군을 기록해 두고 제외/이동 시 그 ZSET에서 제거한다.
+ *
+ * [Key 규칙]
+ * ㄴ 1) "portfolio:ranking:popular"             (전체 ZSET - member: portfolioId, score: popularityScore)
+ * ㄴ 2) "portfolio:ranking:popular:{position}"  (직군별 ZSET)
+ * ㄴ 3) "portfolio:ranking:decay:cursor"        (감쇠 반영 Keyset 커서 - 마지막으로 처리한 portfolioId)
+ * ㄴ 4) "portfolio:ranking:position"            (HASH - field: portfolioId, value: 직군 ZSET에 들어있는 position)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioRankingService {
+
+    private final PortfolioRepository portfolioRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PortfolioCardCacheService portfolioCardCacheService;
+
+    private static final String POPULAR_RANKING_KEY = "portfolio:ranking:popular";
+    private static final String POSITION_RANKING_KEY_PREFIX = "portfolio:ranking:popular:";
+    private static final String DECAY_CURSOR_KEY = "portfolio:ranking:decay:cursor";
+    private static final String POSITION_INDEX_KEY = "portfolio:ranking:position";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int DECAY_CHUNKS_PER_RUN = 5; // 3분 주기 기준 시간당 약 10만 건 감쇠 반영
+
+    // 점수 가중치 (PortfolioEntity.calculateAndSetPopularityScore와 동일)
+    private static final long VIEW_POINT = 1;
+    private static final long LIKE_POINT = 50;
+
+    // 이미 랭킹에 있는 경우에만 점수 증감 (ZADD XX INCR) - 없는 항목은 배치에서 전체 점수로 추가됨
+    // ㄴ KEYS: 전체/직군 ZSET / ARGV[1]: 증감 점수, ARGV[2]: portfolioId
+    private static final RedisScript<Long> INCREMENT_IF_RANKED_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do " +
+            "  redis.call('ZADD', KEYS[i], 'XX', 'INCR', ARGV[1], ARGV[2]) " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    //=================//
+    //== 조회 (Read) ==//
+    //=================//
+
+    /**
+     * 인기순 목록 조회 (ZREVRANGE + 카드 정보 일괄 조회)
+     * ㄴ position이 있으면 직군별 ZSET에서 조회
+     * ㄴ 랭킹이 아직 만들어지지 않았으면 null 반환 (호출 측에서 DB 정렬로 대체)
+     */
+    public Slice<PortfolioCardResponse> getPopularPage(String position, Pageable pageable) {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(POPULAR_RANKING_KEY))) {
+            return null;
+        }
+
+        String rankingKey = rankingKey(position);
+        long start = pageable.getOffset();
+        long end = start + pageable.getPageSize(); // 다음 페이지 존재 여부 판단을 위해 1건 더 조회
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(rankingKey, start, end);
+        if (members == null || members.isEmpty()) {
+            return new SliceImpl<>(new ArrayList<>(), pageable, false);
+        }
+
+        List<Long> ids = members.stream().map(Long::valueOf).collect(Collectors.toList());
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, pageable.getPageSize());
+        }
+
+        // 카드 캐시에서 ZSET 순서대로 조회 (그 사이 비공개 전환 등으로 빠진 항목은 제외)
+        List<PortfolioCardResponse> content = portfolioCardCacheService.getCards(ids);
+
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    //===================//
+    //== 갱신 (Update) ==//
+    //===================//
+
+    /**
+     * 포트폴리오 저장 시 엔티티에서 계산된 점수 반영
+     * ㄴ 직군이 바뀌었으면 이전 직군 ZSET에서 제거
+     */
+    public void updateScore(Long portfolioId, Long popularityScore, boolean isPublished,
+                            String position, String previousPosition) {
+        String member = String.valueOf(portfolioId);
+        if (StringUtils.hasText(previousPosition) && !previousPosition.equals(position)) {
+            redisTemplate.opsForZSet().remove(POSITION_RANKING_KEY_PREFIX + previousPosition, member);
+        }
+
+        if (isPublished) {
+            redisTemplate.opsForZSet().add(POPULAR_RANKING_KEY, member, popularityScore);
+            if (StringUtils.hasText(position)) {
+                redisTemplate.opsForZSet().add(POSITION_RANKING_KEY_PREFIX + position, member, popularityScore);
+                redisTemplate.opsForHash().put(POSITION_INDEX_KEY, member, position);
+            } else {
+                redisTemplate.opsForHash().delete(POSITION_INDEX_KEY, member);
+            }
+        } else {
+            redisTemplate.opsForZSet().remove(POPULAR_RANKING_KEY, member);
+            if (StringUtils.hasText(position)) {
+                redisTemplate.opsForZSet().remove(POSITION_RANKING_KEY_PREFIX + position, member);
+            }
+            redisTemplate.opsForHash().delete(POSITION_INDEX_KEY, member);
+        }
+    }
+
+    /**
+     * 조회 1회 반영에 필요한 랭킹 ZSET 키 (전체 + 직군)
+     * ㄴ PortfolioService 상세 조회 Lua 스크립트의 KEYS로 넘겨 ZADD XX INCR을 같은 왕복에서 처리
+     */
+    public static List<String> rankingKeys(String position) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(POPULAR_RANKING_KEY);
+        if (StringUtils.hasText(position)) {
+            keys.add(POSITION_RANKING_KEY_PREFIX + position);
+        }
+        return keys;
+    }
+
+    // 조회 1회의 점수 증가분 (현재 시간 가중치 적용)
+    public static double viewScoreDelta(LocalDateTime lastModifiedAt) {
+        return scoreDelta(VIEW_POINT, lastModifiedAt);
+    }
+
+    // 좋아요 추가/취소 반영 (PortfolioLikeService)
+    public void onLikeChanged(Long portfolioId, String position, LocalDateTime lastModifiedAt, int delta) {
+        incrementIfRanked(portfolioId, position, LIKE_POINT * delta, lastModifiedAt);
+    }
+
+    /**
+     * 증분이 발생한 포트폴리오 점수 재계산 (스케줄러에서 호출)
+     */
+    public int refreshScores(Collection<Long> portfolioIds) {
+        List<Long> ids = new ArrayList<>(portfolioIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            refreshChunk(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return ids.size();
+    }
+
+    /**
+     * 시간 경과에 따른 점수 감쇠 반영 (스케줄러에서 호출)
+     * ㄴ 랭킹 ZSET이 비어있으면(최초 기동, Redis 초기화) 전체를 한 번에 채움
+     */
+    public int runDecayPass() {
+        boolean rebuild = !Boolean.TRUE.equals(redisTemplate.hasKey(POPULAR_RANKING_KEY));
+        String cursorValue = redisTemplate.opsForValue().get(DECAY_CURSOR_KEY);
+        long lastId = (rebuild || cursorValue == null) ? 0L : Long.parseLong(cursorValue);
+
+        int processed = 0;
+        for (int chunk = 0; rebuild || chunk < DECAY_CHUNKS_PER_RUN; chunk++) {
+            List<Long> ids = portfolioRepository.findPublishedIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (!ids.isEmpty()) {
+                refreshChunk(ids);
+                processed += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            }
+            if (ids.size() < CHUNK_SIZE) {
+                lastId = 0L; // 끝까지 돌았으면 다음 실행은 처음부터
+                break;
+            }
+        }
+
+        redisTemplate.opsForValue().set(DECAY_CURSOR_KEY, String.valueOf(lastId));
+        if (rebuild) {
+            log.info("[Ranking] 인기순 랭킹 전체 재구성 완료 - {}건", processed);
+        }
+        return processed;
+    }
+
+    //============================//
+    //== Internal Helper Method ==//
+    //============================//
+
+    private void incrementIfRanked(Long portfolioId, String position, long points, LocalDateTime lastModifiedAt) {
+        try {
+            redisTemplate.execute(INCREMENT_IF_RANKED_SCRIPT, rankingKeys(position),
+                    String.valueOf(scoreDelta(points, lastModifiedAt)), String.valueOf(portfolioId));
+        } catch (Exception e) {
+            // 랭킹 반영 실패는 다음 배치 재계산으로 보정되므로 요청은 실패시키지 않음
+            log.warn("[Ranking] 실시간 점수 반영 실패. PortfolioId: {}", portfolioId, e);
+        }
+    }
+
+    // 점수 공식의 분모(시간 가중치)를 현재 시점 기준으로 적용한 증가분
+    private static double scoreDelta(long points, LocalDateTime lastModifiedAt) {
+        LocalDateTime timeBase = (lastModifiedAt != null) ? lastModifiedAt : LocalDateTime.now();
+        long hoursDiff = Math.max(0, ChronoUnit.HOURS.between(timeBase, LocalDateTime.now()));
+        return (points * 1000) / Math.pow(hoursDiff + 2, 1.5);
+    }
+
+    private String rankingKey(String position) {
+        return StringUtils.hasText(position) ? POSITION_RANKING_KEY_PREFIX + position : POPULAR_RANKING_KEY;
+    }
+
+    // 청크 단위 재계산 (DB UPDATE는 청크마다 짧은 트랜잭션으로 처리)
+    private void refreshChunk(List<Long> ids) {
+        List<Tuple> rows = transactionTemplate.execute(status -> {
+            portfolioRepository.updatePopularityScores(ids);
+            return portfolioRepository.findPublishedScores(ids);
+        });
+
+        Map<String, String> positions = new HashMap<>(); // 발행된 포트폴리오 -> 현재 직군 (없으면 "")
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> tuplesByKey = new HashMap<>();
+        for (Tuple row : rows) {
+            Long portfolioId = row.get(0, Long.class);
+            Long score = row.get(1, Long.class);
+            String position = row.get(2, String.class);
+            if (portfolioId == null) continue;
+
+            String member = String.valueOf(portfolioId);
+            positions.put(member, StringUtils.hasText(position) ? position : "");
+            ZSetOperations.TypedTuple<String> tuple = new DefaultTypedTuple<>(member, score != null ? score.doubleValue() : 0d);
+            tuplesByKey.computeIfAbsent(POPULAR_RANKING_KEY, k -> new HashSet<>()).add(tuple);
+            if (StringUtils.hasText(position)) {
+                tuplesByKey.computeIfAbsent(POSITION_RANKING_KEY_PREFIX + position, k -> new HashSet<>()).add(tuple);
+            }
+        }
+
+        // 기록된 직군과 비교하여 발행 취소/직군 변경된 항목을 이전 ZSET에서 제거
+        List<Object> members = ids.stream().map(String::valueOf).collect(Collectors.toList());
+        List<Object> recorded = redisTemplate.opsForHash().multiGet(POSITION_INDEX_KEY, members);
+        Map<String, List<Object>> removalsByKey = new HashMap<>();
+        Map<String, String> positionsToRecord = new HashMap<>();
+        List<Object> positionsToForget = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            String member = (String) members.get(i);
+            String previous = recorded != null ? (String) recorded.get(i) : null;
+            String current = positions.get(member);
+
+            if (current == null) {
+                removalsByKey.computeIfAbsent(POPULAR_RANKING_KEY, k -> new ArrayList<>()).add(member);
+            }
+            if (StringUtils.hasText(previous) && !previous.equals(current)) {
+                removalsByKey.computeIfAbsent(POSITION_RANKING_KEY_PREFIX + previous, k -> new ArrayList<>()).add(member);
+            }
+            if (StringUtils.hasText(current)) {
+                positionsToRecord.put(member, current);
+            } else if (previous != null) {
+                positionsToForget.add(member);
+            }
+        }
+
+        tuplesByKey.forEach((key, tuples) -> redisTemplate.opsForZSet().add(key, tuples));
+        removalsByKey.forEach((key, removals) -> redisTemplate.opsForZSet().remove(key, removals.toArray()));
+        if (!positionsToRecord.isEmpty()) {
+            redisTemplate.opsForHash().putAll(POSITION_INDEX_KEY, positionsToRecord);
+        }
+        if (!positionsToForget.isEmpty()) {
+            redisTemplate.opsForHash().delete(POSITION_INDEX_KEY, positionsToForget.toArray());
+        }
+    }
+}
@@ -7,24 +7,27 @@ import com.example.portfolioservice.dto.response.PortfolioCardResponse;
 import com.example.portfolioservice.dto.response.PortfolioDetailsResponse;
 import com.example.portfolioservice.entity.PortfolioEntity;
 import com.example.portfolioservice.exception.ErrorCode;
-import com.example.portfolioservice.repository.PortfolioLikeRepository;
 import com.example.portfolioservice.repository.PortfolioRepository;
 import com.example.portfolioservice.util.PortfolioMapper;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -34,15 +37,43 @@ public class PortfolioService {
 
     private final PortfolioRepository portfolioRepository;
     private final PortfolioMapper portfolioMapper;
-    private final PortfolioLikeRepository portfolioLikeRepository;
     private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final PortfolioDetailCacheService portfolioDetailCacheService;
+    private final PortfolioRankingService portfolioRankingService;
+    private final PortfolioCardCacheService portfolioCardCacheService;
+    private final PortfolioLikeMembershipService portfolioLikeMembershipService;
 
     // Redis 캐싱 - 포트폴리오 상세 조회 Key 규칙
-    // ㄴ 1) "portfolio:details:{id}" (정적)
+    // ㄴ 1) "portfolio:details:{id}" (정적, PortfolioDetailCacheService가 관리)
     // ㄴ 2) "portfolio:stats:{id}" (동적)
-    private static final String STATIC_KEY_PREFIX = "portfolio:details:";
     private static final String STATS_KEY_PREFIX = "portfolio:stats:";
+    private static final String VIEW_BATCH_KEY = "portfolio:views";
+
+    // 상세 조회 시 필요한 Redis 작업(조회수 증가 + 정적 데이터 + 통계 + 인기순 랭킹 반영)을 한 번의 왕복으로 처리
+    // ㄴ KEYS[1]: portfolio:stats:{id}, KEYS[2]: portfolio:views, KEYS[3]: portfolio:details:{id}, KEYS[4..]: 랭킹 ZSET (전체/직군)
+    // ㄴ ARGV[1]: portfolioId, ARGV[2]: 정적 데이터 조회 여부 (L1 Hit 시 "0"), ARGV[3]: 랭킹 점수 증가분
+    // ㄴ 랭킹 ZSET은 직군을 알아야 하므로 L1 Hit 시에만 넘김 (L1 Miss 시의 조회는 다음 배치의 증분 재계산으로 반영)
+    // ㄴ 통계 Hash가 비어있을 때 HINCRBY 하면 viewCount가 1부터 시작하므로, 필드가 있을 때만 증가시키고 없으면 호출 측에서 DB 값으로 초기화
+    private static final RedisScript<List> DETAIL_READ_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HINCRBY', KEYS[2], ARGV[1], 1) " +
+            "if redis.call('HEXISTS', KEYS[1], 'viewCount') == 1 then " +
+            "  redis.call('HINCRBY', KEYS[1], 'viewCount', 1) " +
+            "end " +
+            "local info = false " +
+            "if ARGV[2] == '1' then info = redis.call('GET', KEYS[3]) end " +
+            "local s = redis.call('HMGET', KEYS[1], 'viewCount', 'likeCount') " +
+            "for i = 4, #KEYS do " +
+            "  redis.call('ZADD', KEYS[i], 'XX', 'INCR', ARGV[3], ARGV[1]) " +
+            "end " +
+            "return {info, s[1], s[2]}",
+            List.class);
+
+    // 통계 Hash 초기화 (HSETNX 2회를 한 번의 왕복으로 처리)
+    private static final RedisScript<Long> STATS_INIT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HSETNX', KEYS[1], 'viewCount', ARGV[1]) " +
+            "redis.call('HSETNX', KEYS[1], 'likeCount', ARGV[2]) " +
+            "return 1",
+            Long.class);
 
     /**
      * 내 포트폴리오 조회 (마이페이지)
@@ -67,12 +98,16 @@ public class PortfolioService {
         PortfolioEntity portfolio = portfolioRepository.findByUserId(authUserId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
 
+        String previousPosition = portfolio.getPosition();
         portfolio.updateUserInput(request.getPhotoUrl(), request.getOneLiner(), request.getContent(), request.getPosition(), request.getHashtags());
         PortfolioEntity updatedPortfolio = portfolioRepository.save(portfolio);
 
         // 내용이 수정되었으므로 정적 캐시 삭제 (Eviction)
         // ㄴ 다음 조회 시 DB에서 새 내용을 가져와 캐싱함. (조회수/좋아요는 statsKey에 있으므로 유지됨)
-        redisTemplate.delete(STATIC_KEY_PREFIX + updatedPortfolio.getPortfolioId());
+        // ㄴ 다른 Pod의 L1 캐시도 Pub/Sub으로 함께 무효화됨
+        portfolioDetailCacheService.evict(updatedPortfolio.getPortfolioId());
+        portfolioCardCacheService.evict(updatedPortfolio.getPortfolioId());
+        updateRankingAfterCommit(updatedPortfolio, previousPosition);
 
         return portfolioMapper.toPortfolioResponse(updatedPortfolio, false);
     }
@@ -81,7 +116,18 @@ public class PortfolioService {
      * 포트폴리오 카드 목록 조회 (메인 페이지 - 인증 불필요)
      */
     public Slice<PortfolioCardResponse> getPortfolioList(Long userId, Pageable pageable, String position) {
-        return portfolioRepository.searchPortfolioList(userId, position, pageable);
+        // 인기순은 랭킹 ZSET(전체/직군별)에서 조회 (랭킹이 준비되지 않았으면 DB 정렬)
+        Slice<PortfolioCardResponse> slice = null;
+        if (isPopularSort(pageable)) {
+            slice = portfolioRankingService.getPopularPage(position, pageable);
+        }
+        if (slice == null) {
+            // ID만 조회(커버링 인덱스) 후 카드 내용은 캐시에서 일괄 조회
+            Slice<Long> ids = portfolioRepository.searchPortfolioIds(position, pageable);
+            slice = new SliceImpl<>(portfolioCardCacheService.getCards(ids.getContent()), pageable, ids.hasNext());
+        }
+        applyLikeFlags(userId, slice.getContent());
+        return slice;
     }
 
     /**
@@ -90,26 +136,33 @@ public class PortfolioService {
     @Transactional
     public PortfolioDetailsResponse getPortfolioDetails(Long portfolioId, AuthUser authUser) {
 
-        String statsKey = STATS_KEY_PREFIX + portfolioId;
-
-        // 1. 조회수(동적 데이터) 증가 (DB 부하 X)
+        // 1. 조회수(동적 데이터) 증가 + 정적/동적 데이터 조회 (Redis 1회 왕복, DB 부하 X)
         // ㄴ A. [Display용] 사용자에게 보여줄 실시간 값 (통계용 Hash: portfolio:stats:{id})
-        redisTemplate.opsForHash().increment(statsKey, "viewCount", 1L);
         // ㄴ B. [Batch용] DB에 나중에 반영할 증가분 (배치용 Hash: portfolio:views)
-        redisTemplate.opsForHash().increment("portfolio:views", String.valueOf(portfolioId), 1L);
+        // ㄴ C. 정적 데이터가 L1에 있으면 Redis에서는 읽지 않음
+        // ㄴ D. L1 Hit 시 인기순 랭킹(ZSET)에 조회 1회 반영
+        PortfolioDetailsResponse response = portfolioDetailCacheService.getLocal(portfolioId);
+        List<String> keys = new ArrayList<>(Arrays.asList(STATS_KEY_PREFIX + portfolioId, VIEW_BATCH_KEY, PortfolioDetailCacheService.cacheKey(portfolioId)));
+        String rankingDelta = "0";
+        if (response != null) {
+            keys.addAll(PortfolioRankingService.rankingKeys(response.getPosition()));
+            rankingDelta = String.valueOf(PortfolioRankingService.viewScoreDelta(response.getLastModifiedAt()));
+        }
+        List<Object> redisResult = redisTemplate.execute(DETAIL_READ_SCRIPT, keys,
+                String.valueOf(portfolioId), response == null ? "1" : "0", rankingDelta);
 
-        // 2. 정적 데이터 조회 (제목, 내용 등)
-        PortfolioDetailsResponse response = getStaticPortfolioData(portfolioId);
+        // 2. 정적 데이터 조회 (제목, 내용 등) - L1 Miss 시 1에서 읽은 Redis 값 사용, 그마저 없으면 DB
+        if (response == null) {
+            response = getStaticPortfolioData(portfolioId, (String) redisResult.get(0));
+        }
 
-        // 3. 동적 데이터 조회 및 병합 (조회수, 북마크 수)
-        mergeDynamicStats(portfolioId, response);
+        // 3. 동적 데이터 병합 (조회수, 좋아요 수)
+        mergeDynamicStats(portfolioId, response, redisResult.subList(1, 3));
 
-        // 4. 개인 데이터(좋아요) 여부 (이건 캐싱 불가능해서 DB 조회)
+        // 4. 개인 데이터(좋아요) 여부 (사용자별 관심 Set + Bloom Filter, DB 조회 X)
         boolean isLiked = false;
         if (authUser != null) {
-            // 성능 최적화: ID만으로 조회 (Entity 조회 X)
-            PortfolioEntity proxy = portfolioRepository.getReferenceById(portfolioId);
-            isLiked = portfolioLikeRepository.existsByLikerIdAndPortfolio(authUser.getUserId(), proxy);
+            isLiked = portfolioLikeMembershipService.isLiked(authUser.getUserId(), portfolioId);
         }
 
         response.setLiked(isLiked);
@@ -121,57 +174,55 @@ public class PortfolioService {
     //== Internal Helper Method ==//
     //============================//
 
-    // 정적 데이터(title, content, ...)를 Redis에서 조회
-    private PortfolioDetailsResponse getStaticPortfolioData(Long portfolioId) {
-        String cacheKey = STATIC_KEY_PREFIX + portfolioId;
-        String cachedJson = redisTemplate.opsForValue().get(cacheKey);
+    private boolean isPopularSort(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        Sort.Order order = sort.getOrderFor("popularityScore");
+        return order != null && order.isDescending() && sort.stream().count() == 1;
+    }
 
-        // Cache Hit -> Redis 조회
-        if (StringUtils.hasText(cachedJson)) {
-            try {
-                return objectMapper.readValue(cachedJson, PortfolioDetailsResponse.class);
-            } catch (JsonProcessingException e) {
-                log.error("JSON 파싱 에러. DB에서 다시 조회합니다.", e);
-            }
+    // 목록의 관심 여부를 사용자별 관심 Set에서 한 번에 조회하여 병합 (Bloom Filter로 걸러진 후보만 Redis 조회)
+    private void applyLikeFlags(Long userId, List<PortfolioCardResponse> cards) {
+        if (userId == null || cards.isEmpty()) {
+            return;
         }
 
-        // Cache Miss -> DB 조회
-        PortfolioEntity portfolio = portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
+        List<Long> portfolioIds = cards.stream().map(PortfolioCardResponse::getPortfolioId).toList();
+        Set<Long> likedIds = portfolioLikeMembershipService.findLikedIds(userId, portfolioIds);
 
-        if (!portfolio.isPublished()) {
-            throw new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND);
+        for (PortfolioCardResponse card : cards) {
+            card.setLiked(likedIds.contains(card.getPortfolioId()));
         }
+    }
 
-        PortfolioDetailsResponse response = portfolioMapper.toPortfolioResponse(portfolio, false);
+    // 정적 데이터(title, content, ...)를 L2(Redis) 조회 결과 -> DB 순서로 조회
+    private PortfolioDetailsResponse getStaticPortfolioData(Long portfolioId, String cachedJson) {
+        return portfolioDetailCacheService.resolve(portfolioId, cachedJson, () -> {
+            PortfolioEntity portfolio = portfolioRepository.findById(portfolioId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
 
-        // Redis 저장 (TTL 1시간)
-        try {
-            redisTemplate.opsForValue().set(cacheKey, objectMapper.writeValueAsString(response), 1, TimeUnit.HOURS);
-        } catch (JsonProcessingException e) {
-            log.error("Redis 저장 실패", e);
-        }
+            if (!portfolio.isPublished()) {
+                throw new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND);
+            }
 
-        return response;
+            return portfolioMapper.toPortfolioResponse(portfolio, false);
+        });
     }
 
-    private void mergeDynamicStats(Long portfolioId, PortfolioDetailsResponse response) {
-        String statsKey = STATS_KEY_PREFIX + portfolioId;
-        List<Object> stats = redisTemplate.opsForHash().multiGet(statsKey, Arrays.asList("viewCount", "likeCount"));
-
+    private void mergeDynamicStats(Long portfolioId, PortfolioDetailsResponse response, List<Object> stats) {
         Object viewCountObj = stats.get(0);
         Object likeCountObj = stats.get(1);
 
         // Redis에 통계 데이터가 없는 경우 (Cache Miss or First Access)
         // ㄴ DB에 있는 최신 값을 가져와서 Redis를 초기화해줘야 함 (동기화)
         if (viewCountObj == null || likeCountObj == null) {
-            // 정적 데이터 조회 시 사용했던 Entity 정보(response)에 있는 값을 기준으로 초기화
+            // 정적 데이터 조회 시 사용했던 Entity 정보(response)에 있는 값을 기준으로 초기화 (이번 조회 1회 포함)
             // ㄴ Redis가 비어있다면 DB 기준으로 Redis에 재설정
-            redisTemplate.opsForHash().putIfAbsent(statsKey, "viewCount", String.valueOf(response.getViewCount()));
-            redisTemplate.opsForHash().putIfAbsent(statsKey, "likeCount", String.valueOf(response.getLikeCount()));
-            // 다시 읽거나, 현재 값 사용
-            if (viewCountObj != null) response.setViewCount(Long.parseLong(viewCountObj.toString()));
-            if (likeCountObj != null) response.setLikeCount(Long.parseLong(likeCountObj.toString()));
+            long viewCount = (viewCountObj != null) ? Long.parseLong(viewCountObj.toString()) : (response.getViewCount() != null ? response.getViewCount() : 0L) + 1;
+            long likeCount = (likeCountObj != null) ? Long.parseLong(likeCountObj.toString()) : (response.getLikeCount() != null ? response.getLikeCount() : 0L);
+            redisTemplate.execute(STATS_INIT_SCRIPT, Collections.singletonList(STATS_KEY_PREFIX + portfolioId),
+                    String.valueOf(viewCount), String.valueOf(likeCount));
+            response.setViewCount(viewCount);
+            response.setLikeCount(likeCount);
         } else {
             // Redis 값 적용
             response.setViewCount(Long.parseLong(viewCountObj.toString()));
@@ -179,4 +230,31 @@ public class PortfolioService {
         }
     }
 
+    // 랭킹도 캐시 무효화와 같이 커밋 이후에 반영 (롤백 시 랭킹만 바뀌거나, 커밋 전에 새로 공개된 포트폴리오가 랭킹에 노출되지 않도록)
+    private void updateRankingAfterCommit(PortfolioEntity portfolio, String previousPosition) {
+        Long portfolioId = portfolio.getPortfolioId();
+        Long popularityScore = portfolio.getPopularityScore();
+        boolean isPublished = portfolio.isPublished();
+        String position = portfolio.getPosition();
+
+        Runnable update = () -> {
+            try {
+                portfolioRankingService.updateScore(portfolioId, popularityScore, isPublished, position, previousPosition);
+            } catch (Exception e) {
+                // 커밋은 끝났으므로 요청은 실패시키지 않음 (랭킹 배치 재계산 시 DB 기준으로 맞춰짐)
+                log.error("[PortfolioService] 랭킹 반영 실패. PortfolioId: {}", portfolioId, e);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
 }
\ No newline at end of file
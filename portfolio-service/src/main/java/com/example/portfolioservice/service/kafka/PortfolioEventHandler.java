@@ -3,6 +3,8 @@ package com.example.portfolioservice.service.kafka;
 import com.example.commonmodule.entity.enumerate.Gender;
 import com.example.portfolioservice.entity.PortfolioEntity;
 import com.example.portfolioservice.repository.PortfolioRepository;
+import com.example.portfolioservice.service.PortfolioCardCacheService;
+import com.example.portfolioservice.service.PortfolioDetailCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord; // [추가]
@@ -19,6 +21,8 @@ import java.util.Optional;
 public class PortfolioEventHandler {
 
     private final PortfolioRepository portfolioRepository;
+    private final PortfolioDetailCacheService portfolioDetailCacheService;
+    private final PortfolioCardCacheService portfolioCardCacheService;
 
     @Transactional
     @KafkaListener(topics = "user_db_server.user_db.user_profile", groupId = "portfolio-consumer-group")
@@ -49,6 +53,10 @@ public class PortfolioEventHandler {
             PortfolioEntity portfolio = optionalPortfolio.get();
             portfolio.updateCache(name, email, birthdate, gender);
             // portfolioRepository.save(portfolio);
+
+            // 이름/이메일이 캐시된 상세/카드 데이터 무효화 (둘 다 커밋 이후 삭제)
+            portfolioDetailCacheService.evict(portfolio.getPortfolioId());
+            portfolioCardCacheService.evict(portfolio.getPortfolioId());
         } else {
             // [Create]
             PortfolioEntity newPortfolio = PortfolioEntity.builder()